@@ -0,0 +1,138 @@
+package io.mosip.kernel.bio.converter.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
+import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
+import io.mosip.kernel.bio.converter.service.impl.ConverterServiceImpl;
+
+/**
+ * Benchmarks the ISO to image conversion hot path for every supported
+ * source/target pair.
+ *
+ * <p>
+ * Throughput is reported in ops/sec and the sampled time mode reports the
+ * latency percentiles (p50, p90, p99, ...). Run with the gc profiler to get
+ * the allocation rate:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar IsoToImageBenchmark -prof gc
+ * </pre>
+ * </p>
+ *
+ * @since 1.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class IsoToImageBenchmark {
+	/**
+	 * ISO fixture to convert, see {@link IsoFixture}.
+	 */
+	@Param({ "FINGER_JPEG2000", "FINGER_WSQ", "FACE_JPEG2000", "IRIS_JPEG2000" })
+	public String fixture;
+
+	/**
+	 * Target format code to convert to.
+	 */
+	@Param({ "IMAGE/JPEG", "IMAGE/PNG" })
+	public String targetFormat;
+
+	private ConverterServiceImpl converterService;
+	private IsoFixture isoFixture;
+	private String isoData;
+	private TargetFormatCode targetCode;
+	private Map<String, String> targetParameters;
+
+	/**
+	 * Loads the fixture once per trial so that only the conversion is measured.
+	 *
+	 * @throws IOException if the fixture can not be read
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		converterService = new ConverterServiceImpl();
+		isoFixture = IsoFixture.valueOf(fixture);
+		isoData = isoFixture.load();
+		targetCode = TargetFormatCode.fromCode(targetFormat);
+		targetParameters = new HashMap<>();
+	}
+
+	/**
+	 * Converts one ISO record to the target image format.
+	 *
+	 * @return the Base64 URL encoded image, returned to avoid dead code
+	 *         elimination
+	 */
+	@Benchmark
+	public String convert() {
+		switch (isoFixture.getSourceCode()) {
+		case ISO19794_4_2011:
+			return converterService.convertFingerIsoToImageType(isoFixture.getSourceCode(), isoData, targetCode,
+					targetParameters);
+		case ISO19794_5_2011:
+			return converterService.convertFaceIsoToImageType(isoFixture.getSourceCode(), isoData, targetCode,
+					targetParameters);
+		default:
+			return converterService.convertIrisIsoToImageType(isoFixture.getSourceCode(), isoData, targetCode,
+					targetParameters);
+		}
+	}
+
+	/**
+	 * Realistic Base64 URL encoded ISO records bundled with the benchmarks.
+	 */
+	public enum IsoFixture {
+		FINGER_JPEG2000(SourceFormatCode.ISO19794_4_2011, "fixtures/finger_jp2.txt"),
+		FINGER_WSQ(SourceFormatCode.ISO19794_4_2011, "fixtures/finger_wsq.txt"),
+		FACE_JPEG2000(SourceFormatCode.ISO19794_5_2011, "fixtures/face.txt"),
+		IRIS_JPEG2000(SourceFormatCode.ISO19794_6_2011, "fixtures/iris.txt");
+
+		private final SourceFormatCode sourceCode;
+		private final String resource;
+
+		private IsoFixture(SourceFormatCode sourceCode, String resource) {
+			this.sourceCode = sourceCode;
+			this.resource = resource;
+		}
+
+		public SourceFormatCode getSourceCode() {
+			return sourceCode;
+		}
+
+		/**
+		 * Reads the Base64 URL encoded ISO record from the classpath.
+		 *
+		 * @return the Base64 URL encoded ISO record
+		 * @throws IOException if the fixture can not be read
+		 */
+		public String load() throws IOException {
+			try (InputStream in = IsoToImageBenchmark.class.getClassLoader().getResourceAsStream(resource)) {
+				if (in == null)
+					throw new IOException("Fixture not found: " + resource);
+				return new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+			}
+		}
+	}
+}
@@ -39,6 +39,8 @@ public enum ConverterErrorCode {
 	TARGET_FORMAT_EXCEPTION("MOS-CNV-011",
 			"Target Format(ISO19794_6_2011_JPEG) Not Supported For the Given Source Format(ISO19794_6_2011)"),
 	NOT_SUPPORTED_COMPRESSION_TYPE("MOS-CNV-012", "Not Supported Compression Type"),
+	INVALID_TARGET_PARAMETER_EXCEPTION("MOS-CNV-013", "Invalid Target Parameter Value"),
+	CONVERSION_CAPACITY_EXCEEDED_EXCEPTION("MOS-CNV-014", "Conversion capacity exceeded, retry later"),
 
 	TECHNICAL_ERROR_EXCEPTION("MOS-CNV-500", "Technical Error");
 
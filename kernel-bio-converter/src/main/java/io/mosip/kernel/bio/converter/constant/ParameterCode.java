@@ -23,7 +23,13 @@ package io.mosip.kernel.bio.converter.constant;
  * @since 1.0.0
  */
 public enum ParameterCode {
-	DPI("dpi", "image Dots Per Inch"), WIDTH("width", "image width"), HEIGHT("height", "image height");
+	DPI("dpi", "image Dots Per Inch"), WIDTH("width", "image width"), HEIGHT("height", "image height"),
+	SCALE_MODE("scaleMode", "image scaling mode[ex:\"SPEED\", \"BALANCED\", \"QUALITY\"]"),
+	QUALITY("quality", "JPEG quality[1-100]"), PROGRESSIVE("progressive", "progressive JPEG encoding[ex:\"true\", \"false\"]"),
+	OPTIMIZE_HUFFMAN("optimizeHuffman", "optimized JPEG Huffman tables[ex:\"true\", \"false\"]"),
+	CHROMA_SUBSAMPLING("chromaSubsampling", "JPEG chroma subsampling[ex:\"444\", \"422\", \"420\"]"),
+	COMPRESSION_LEVEL("compressionLevel", "PNG deflate level[0-9]"),
+	REPRESENTATIONS("representations", "ISO representations converted to images[ex:\"first\", \"all\"]");
 
 	private final String code;
 	private final String message;
@@ -29,7 +29,8 @@ public enum SourceFormatCode {
 	ISO19794_2_2011("ISO19794_2_2011", "Finger ISO FMR format"), 
 	ISO19794_4_2011("ISO19794_4_2011", "Finger ISO format"), 
 	ISO19794_5_2011("ISO19794_5_2011", "Face ISO format"),
-	ISO19794_6_2011("ISO19794_6_2011", "Iris ISO format");
+	ISO19794_6_2011("ISO19794_6_2011", "Iris ISO format"),
+	AUTO("AUTO", "ISO format detected from the format identifier of each record");
 
 	private final String code;
 	private final String message;
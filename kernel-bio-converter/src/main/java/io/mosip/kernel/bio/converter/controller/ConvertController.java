@@ -1,21 +1,45 @@
 package io.mosip.kernel.bio.converter.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
+import io.mosip.kernel.bio.converter.dto.BatchConvertRequestDto;
 import io.mosip.kernel.bio.converter.dto.ConvertRequestDto;
+import io.mosip.kernel.bio.converter.dto.ConvertResponseDto;
+import io.mosip.kernel.bio.converter.dto.DecodedConvertRequestDto;
+import io.mosip.kernel.bio.converter.dto.SourceValue;
 import io.mosip.kernel.bio.converter.exception.ConversionException;
+import io.mosip.kernel.bio.converter.service.ConversionOptions;
 import io.mosip.kernel.bio.converter.service.IConverterApi;
 import io.mosip.kernel.bio.converter.service.impl.ConverterServiceImpl;
+import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.http.RequestWrapper;
 import io.mosip.kernel.core.http.ResponseFilter;
 import io.mosip.kernel.core.http.ResponseWrapper;
+import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * Controller class for handling conversion requests.
@@ -38,14 +62,26 @@ public class ConvertController {
 	 */
 	private IConverterApi converterService;
 
+	/**
+	 * Mapper used to write the streamed responses.
+	 */
+	private ObjectMapper objectMapper;
+
+	/**
+	 * Identifier key of the value of an application/octet-stream request.
+	 */
+	private static final String BINARY_VALUE_KEY = "value";
+
 	/**
 	 * Constructor for initializing the controller with a converter service.
 	 * 
 	 * @param converterService the service implementation {@link IConverterApi}.
+	 * @param objectMapper     the {@link ObjectMapper} of the application.
 	 */
 	@Autowired
-	public ConvertController(IConverterApi converterService) {
+	public ConvertController(IConverterApi converterService, ObjectMapper objectMapper) {
 		this.converterService = converterService;
+		this.objectMapper = objectMapper;
 	}
 
 	/**
@@ -58,7 +94,20 @@ public class ConvertController {
 	 * perform the conversion. The response is wrapped in a {@link ResponseWrapper}.
 	 * </p>
 	 * 
+	 * <p>
+	 * The request is read as a {@link DecodedConvertRequestDto}, the Base64 URL
+	 * encoded values are decoded to bytes by the JSON parser itself.
+	 * </p>
+	 * 
+	 * <p>
+	 * With {@code partialFailure=true}, a value that can not be converted does not
+	 * fail the request: the other values are returned in the response and the
+	 * failing keys are listed in the errors, each with its own error code.
+	 * </p>
+	 * 
 	 * @param convertRequestDto the request body containing conversion parameters.
+	 * @param partialFailure    {@code true} to report the failing values instead
+	 *                          of failing the request.
 	 * @return a {@link ResponseWrapper} containing the converted output.
 	 * @throws ConversionException if there is an error during the conversion
 	 *                             process.
@@ -66,14 +115,253 @@ public class ConvertController {
 	@ResponseFilter
 	@PostMapping(value = "/convert", produces = "application/json")
 	public ResponseWrapper<Map<String, String>> convert(
-			@RequestBody @Valid RequestWrapper<ConvertRequestDto> convertRequestDto) throws ConversionException {
+			@RequestBody @Valid RequestWrapper<DecodedConvertRequestDto> convertRequestDto,
+			@RequestParam(value = "partialFailure", defaultValue = "false") boolean partialFailure)
+			throws ConversionException {
 		ResponseWrapper<Map<String, String>> responseDto = new ResponseWrapper<>();
+		DecodedConvertRequestDto request = convertRequestDto.getRequest();
 
-		responseDto.setResponse(converterService.convert(convertRequestDto.getRequest().getValues(),
-				convertRequestDto.getRequest().getSourceFormat(), convertRequestDto.getRequest().getTargetFormat(),
-				convertRequestDto.getRequest().getSourceParameters(),
-				convertRequestDto.getRequest().getTargetParameters()));
+		ConvertResponseDto result = IConverterApi.join(converterService.convert(request.getValues(),
+				request.getSourceFormat(), request.getTargetFormat(), request.getSourceParameters(),
+				request.getTargetParameters(), ConversionOptions.defaults().withPartialFailure(partialFailure)));
+		responseDto.setResponse(result.getValues());
+		responseDto.getErrors().addAll(result.getErrors());
 
 		return responseDto;
 	}
+
+	/**
+	 * Endpoint for handling conversion requests asynchronously.
+	 * 
+	 * <p>
+	 * This method processes POST requests to "/convert/async". The request and the
+	 * response are the ones of "/convert", but the request thread is released as
+	 * soon as the request is admitted; the values are converted on the conversion
+	 * pool and the response is written once they are all converted.
+	 * </p>
+	 * 
+	 * @param convertRequestDto the request body containing conversion parameters.
+	 * @param partialFailure    {@code true} to report the failing values instead
+	 *                          of failing the request.
+	 * @return a future of the {@link ResponseWrapper} containing the converted
+	 *         output, failing with a {@link ConversionException} if there is an
+	 *         error during the conversion process.
+	 */
+	@ResponseFilter
+	@PostMapping(value = "/convert/async", produces = "application/json")
+	public CompletableFuture<ResponseWrapper<Map<String, String>>> convertAsync(
+			@RequestBody @Valid RequestWrapper<DecodedConvertRequestDto> convertRequestDto,
+			@RequestParam(value = "partialFailure", defaultValue = "false") boolean partialFailure) {
+		DecodedConvertRequestDto request = convertRequestDto.getRequest();
+
+		return converterService.convert(request.getValues(), request.getSourceFormat(),
+				request.getTargetFormat(), request.getSourceParameters(), request.getTargetParameters(),
+				ConversionOptions.defaults().withPartialFailure(partialFailure).withAsync(true)).thenApply(result -> {
+					ResponseWrapper<Map<String, String>> responseDto = new ResponseWrapper<>();
+					responseDto.setResponse(result.getValues());
+					responseDto.getErrors().addAll(result.getErrors());
+					return responseDto;
+				});
+	}
+
+	/**
+	 * Endpoint for handling conversion requests with a streamed response.
+	 * 
+	 * <p>
+	 * This method processes POST requests to "/convert/stream". The request is the
+	 * one of "/convert" and so is the response, but every converted value is
+	 * Base64 URL encoded straight into the response output stream as soon as it
+	 * is converted, the converted values are never held all together in memory.
+	 * An error raised before the first value is written gets the regular error
+	 * response, a later error is reported in the errors of the streamed response.
+	 * When a value can not be written, the client having gone away, the
+	 * remaining values are not converted and the response is left as it is.
+	 * </p>
+	 * 
+	 * @param convertRequestDto the request body containing conversion parameters.
+	 * @param partialFailure    {@code true} to report the failing values instead
+	 *                          of failing the request.
+	 * @param response          the response the converted values are streamed to.
+	 * @throws ConversionException if there is an error during the conversion
+	 *                             process before the response is started.
+	 */
+	@PostMapping(value = "/convert/stream", produces = "application/json")
+	public void convertStream(@RequestBody @Valid RequestWrapper<DecodedConvertRequestDto> convertRequestDto,
+			@RequestParam(value = "partialFailure", defaultValue = "false") boolean partialFailure,
+			HttpServletResponse response) throws ConversionException {
+		DecodedConvertRequestDto request = convertRequestDto.getRequest();
+		ConvertResponseStreamWriter writer = new ConvertResponseStreamWriter(objectMapper, response,
+				convertRequestDto.getId(), convertRequestDto.getVersion());
+
+		List<ServiceError> errors;
+		try {
+			errors = IConverterApi.join(converterService.convert(request.getValues(),
+					request.getSourceFormat(), request.getTargetFormat(), request.getSourceParameters(),
+					request.getTargetParameters(),
+					ConversionOptions.defaults().withPartialFailure(partialFailure).withSink(writer::writeValue)))
+					.getErrors();
+		} catch (ConversionException e) {
+			if (!writer.isStarted())
+				throw e;
+			errors = List.of(new ServiceError(e.getErrorCode(), e.getMessage()));
+		} catch (UncheckedIOException e) {
+			if (!writer.isAborted())
+				throw e;
+			return;
+		}
+		writer.finish(errors);
+	}
+
+	/**
+	 * Endpoint for handling batch conversion requests.
+	 * 
+	 * <p>
+	 * This method processes POST requests to "/convert/batch". It expects a JSON
+	 * payload containing a {@link BatchConvertRequestDto} object, a list of
+	 * independent conversion items each with its own source and target formats
+	 * and parameters. The response holds one {@link ConvertResponseDto} per item,
+	 * in the order of the items, with either the converted values or the errors
+	 * of the item.
+	 * </p>
+	 * 
+	 * @param batchRequestDto the request body containing the conversion items.
+	 * @param partialFailure  {@code true} to report the failing values of an item
+	 *                        instead of failing the whole item.
+	 * @return a {@link ResponseWrapper} containing the result of every item.
+	 * @throws ConversionException if the batch itself can not be processed.
+	 */
+	@ResponseFilter
+	@PostMapping(value = "/convert/batch", produces = "application/json")
+	public ResponseWrapper<List<ConvertResponseDto>> convertBatch(
+			@RequestBody @Valid RequestWrapper<BatchConvertRequestDto> batchRequestDto,
+			@RequestParam(value = "partialFailure", defaultValue = "false") boolean partialFailure)
+			throws ConversionException {
+		ResponseWrapper<List<ConvertResponseDto>> responseDto = new ResponseWrapper<>();
+
+		responseDto.setResponse(
+				converterService.convertBatch(batchRequestDto.getRequest().getItems(), partialFailure));
+
+		return responseDto;
+	}
+
+	/**
+	 * Endpoint for handling binary multipart conversion requests.
+	 * 
+	 * <p>
+	 * This method processes multipart/form-data POST requests to
+	 * "/convert/binary". Every file part carries the raw source bytes of one
+	 * value, the part name being the identifier key. The source and target
+	 * formats are passed as request parameters, any other request parameter is
+	 * passed on as a target parameter. The converted values are returned as a
+	 * multipart/form-data body with one part per key, without any Base64 URL
+	 * encoding.
+	 * </p>
+	 * 
+	 * @param sourceFormat the source format code.
+	 * @param targetFormat the target format code.
+	 * @param parameters   all the request parameters.
+	 * @param files        the file parts, one per identifier key.
+	 * @return the converted values, one part per identifier key.
+	 * @throws ConversionException if there is an error during the conversion
+	 *                             process.
+	 */
+	@PostMapping(value = "/convert/binary", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.MULTIPART_FORM_DATA_VALUE)
+	public ResponseEntity<MultiValueMap<String, HttpEntity<?>>> convertMultipart(
+			@RequestParam("sourceFormat") String sourceFormat, @RequestParam("targetFormat") String targetFormat,
+			@RequestParam Map<String, String> parameters, @RequestParam MultiValueMap<String, MultipartFile> files)
+			throws ConversionException {
+		Map<String, SourceValue> values = new LinkedHashMap<>();
+		for (Map.Entry<String, List<MultipartFile>> entry : files.entrySet()) {
+			values.put(entry.getKey(), SourceValue.ofBytes(readBytes(entry.getValue().get(0))));
+		}
+
+		Map<String, byte[]> targetValues = convertBytes(values, sourceFormat, targetFormat, parameters);
+
+		return ResponseEntity.ok().contentType(MediaType.MULTIPART_FORM_DATA)
+				.body(toMultipartBody(targetValues, getMediaType(targetFormat)));
+	}
+
+	/**
+	 * Endpoint for handling binary conversion requests of a single value.
+	 * 
+	 * <p>
+	 * This method processes application/octet-stream POST requests to
+	 * "/convert/binary". The body carries the raw source bytes and the converted
+	 * value is returned as the raw response body. When the record is split with
+	 * the {@code representations=all} target parameter, the converted
+	 * representations are returned as a multipart/form-data body with one part
+	 * per representation, as by the multipart endpoint.
+	 * </p>
+	 * 
+	 * @param sourceFormat the source format code.
+	 * @param targetFormat the target format code.
+	 * @param parameters   all the request parameters, other than the formats
+	 *                     passed on as target parameters.
+	 * @param value        the raw source bytes.
+	 * @return the raw converted bytes, or the converted representations.
+	 * @throws ConversionException if there is an error during the conversion
+	 *                             process.
+	 */
+	@PostMapping(value = "/convert/binary", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+	public ResponseEntity<?> convertOctetStream(@RequestParam("sourceFormat") String sourceFormat,
+			@RequestParam("targetFormat") String targetFormat, @RequestParam Map<String, String> parameters,
+			@RequestBody byte[] value) throws ConversionException {
+		Map<String, SourceValue> values = new HashMap<>();
+		values.put(BINARY_VALUE_KEY, SourceValue.ofBytes(value));
+
+		Map<String, byte[]> targetValues = convertBytes(values, sourceFormat, targetFormat, parameters);
+
+		if (targetValues.size() != 1 || !targetValues.containsKey(BINARY_VALUE_KEY))
+			return ResponseEntity.ok().contentType(MediaType.MULTIPART_FORM_DATA)
+					.body(toMultipartBody(targetValues, getMediaType(targetFormat)));
+		return ResponseEntity.ok().contentType(getMediaType(targetFormat)).body(targetValues.get(BINARY_VALUE_KEY));
+	}
+
+	/**
+	 * Converts raw values and collects the raw converted values, in the order of
+	 * the source values.
+	 */
+	private Map<String, byte[]> convertBytes(Map<String, SourceValue> values, String sourceFormat,
+			String targetFormat, Map<String, String> parameters) throws ConversionException {
+		Map<String, byte[]> targetValues = new LinkedHashMap<>();
+		IConverterApi.join(converterService.convert(values, sourceFormat, targetFormat, null,
+				getTargetParameters(parameters), ConversionOptions.defaults().withSink(targetValues::put)));
+		return targetValues;
+	}
+
+	private static MultiValueMap<String, HttpEntity<?>> toMultipartBody(Map<String, byte[]> targetValues,
+			MediaType mediaType) {
+		MultipartBodyBuilder bodyBuilder = new MultipartBodyBuilder();
+		for (Map.Entry<String, byte[]> entry : targetValues.entrySet()) {
+			bodyBuilder.part(entry.getKey(), entry.getValue(), mediaType).filename(entry.getKey());
+		}
+		return bodyBuilder.build();
+	}
+
+	private static Map<String, String> getTargetParameters(Map<String, String> parameters) {
+		Map<String, String> targetParameters = new HashMap<>(parameters);
+		targetParameters.remove("sourceFormat");
+		targetParameters.remove("targetFormat");
+		return targetParameters;
+	}
+
+	private static byte[] readBytes(MultipartFile file) throws ConversionException {
+		try {
+			return file.getBytes();
+		} catch (IOException e) {
+			throw new ConversionException(ConverterErrorCode.INVALID_REQUEST_EXCEPTION.getErrorCode(),
+					e.getLocalizedMessage(), e);
+		}
+	}
+
+	private static MediaType getMediaType(String targetFormat) {
+		switch (TargetFormatCode.fromCode(targetFormat)) {
+		case IMAGE_JPEG:
+			return MediaType.IMAGE_JPEG;
+		case IMAGE_PNG:
+			return MediaType.IMAGE_PNG;
+		default:
+			return MediaType.APPLICATION_OCTET_STREAM;
+		}
+	}
 }
@@ -0,0 +1,138 @@
+package io.mosip.kernel.bio.converter.controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.kernel.core.exception.ServiceError;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes the {@code ResponseWrapper} JSON of a conversion request straight to
+ * the servlet output stream, one converted value at a time.
+ *
+ * <p>
+ * Nothing is written until the first value is converted, so a request that
+ * fails before that still gets the regular error response. Every value is
+ * Base64 URL encoded by the JSON generator while it is written and flushed to
+ * the client right away. A failure after the first value can no longer change
+ * the response status and is reported in the {@code errors} of the response.
+ * </p>
+ *
+ * <p>
+ * A failure to write, the client having gone away, aborts the writer: nothing
+ * more is written and the response is left as it is.
+ * </p>
+ *
+ * @since 1.3.0
+ */
+final class ConvertResponseStreamWriter {
+	private static final DateTimeFormatter RESPONSE_TIME_FORMAT = DateTimeFormatter
+			.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+
+	private final ObjectMapper objectMapper;
+	private final HttpServletResponse response;
+	private final String id;
+	private final String version;
+	private JsonGenerator generator;
+	private boolean aborted;
+
+	ConvertResponseStreamWriter(ObjectMapper objectMapper, HttpServletResponse response, String id,
+			String version) {
+		this.objectMapper = objectMapper;
+		this.response = response;
+		this.id = id;
+		this.version = version;
+	}
+
+	/**
+	 * Checks if the response has been started, after which errors can only be
+	 * reported in the response body.
+	 *
+	 * @return {@code true} once the first value has been written
+	 */
+	boolean isStarted() {
+		return generator != null;
+	}
+
+	/**
+	 * Checks if a write has failed, after which nothing more can be sent.
+	 *
+	 * @return {@code true} once a value or the end of the response could not be
+	 *         written
+	 */
+	boolean isAborted() {
+		return aborted;
+	}
+
+	/**
+	 * Writes a converted value, Base64 URL encoded, and flushes it.
+	 *
+	 * @param key   the identifier key
+	 * @param value the raw converted value
+	 * @throws UncheckedIOException if the value can not be written, the writer
+	 *                              is then aborted
+	 */
+	void writeValue(String key, byte[] value) {
+		try {
+			start();
+			generator.writeFieldName(key);
+			generator.writeBinary(Base64Variants.MODIFIED_FOR_URL, value, 0, value.length);
+			generator.flush();
+		} catch (IOException e) {
+			aborted = true;
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Ends the response with the given errors, unless the writer is aborted. A
+	 * failure to write aborts the writer.
+	 *
+	 * @param errors the errors of the failing values
+	 */
+	void finish(List<ServiceError> errors) {
+		if (aborted)
+			return;
+		try {
+			start();
+			generator.writeEndObject();
+			generator.writeFieldName("errors");
+			generator.writeStartArray();
+			for (ServiceError error : errors) {
+				generator.writeObject(error);
+			}
+			generator.writeEndArray();
+			generator.writeEndObject();
+			generator.close();
+		} catch (IOException e) {
+			aborted = true;
+		}
+	}
+
+	private void start() throws IOException {
+		if (generator != null)
+			return;
+
+		response.setStatus(HttpServletResponse.SC_OK);
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		generator = objectMapper.getFactory().createGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+		generator.writeStartObject();
+		generator.writeStringField("id", id);
+		generator.writeStringField("version", version);
+		generator.writeStringField("responsetime", LocalDateTime.now(ZoneOffset.UTC).format(RESPONSE_TIME_FORMAT));
+		generator.writeNullField("metadata");
+		generator.writeFieldName("response");
+		generator.writeStartObject();
+	}
+}
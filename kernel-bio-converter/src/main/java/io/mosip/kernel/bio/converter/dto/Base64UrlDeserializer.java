@@ -0,0 +1,96 @@
+package io.mosip.kernel.bio.converter.dto;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+
+/**
+ * Deserializes a Base64 URL encoded JSON string straight into a decoded
+ * {@link SourceValue}.
+ *
+ * <p>
+ * The string token is decoded from the character buffer of the parser, so the
+ * encoded value is never materialised as a Java {@link String}. It is decoded
+ * as by {@code CommonUtil.decodeURLSafeBase64}, padding being optional. The
+ * whole token is read before it is decoded, so a decode error leaves the
+ * parser on the next token. A value that is not Base64 URL encoded does not
+ * fail the parsing: it is kept as a value holding
+ * {@link ConverterErrorCode#SOURCE_NOT_VALID_BASE64URLENCODED_EXCEPTION},
+ * raised when the value is converted. A blank value is kept as an empty value,
+ * rejected as such when it is converted.
+ * </p>
+ *
+ * <p>
+ * The characters are copied to a byte buffer for the decoder. The buffer is
+ * kept as an attribute of the deserialization, so the values of a request
+ * share one buffer, sized for the largest of them. The decoded value itself is
+ * held by the {@link SourceValue} and is allocated for each value.
+ * </p>
+ *
+ * @since 1.3.0
+ */
+public class Base64UrlDeserializer extends StdScalarDeserializer<SourceValue> {
+	private static final long serialVersionUID = 2437964418437346521L;
+	private static final String BUFFER_ATTRIBUTE = Base64UrlDeserializer.class.getName() + ".buffer";
+
+	public Base64UrlDeserializer() {
+		super(SourceValue.class);
+	}
+
+	@Override
+	public SourceValue deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+		if (!parser.hasToken(JsonToken.VALUE_STRING))
+			return (SourceValue) context.handleUnexpectedToken(SourceValue.class, parser);
+		char[] text = parser.getTextCharacters();
+		int offset = parser.getTextOffset();
+		int length = parser.getTextLength();
+		if (isBlank(text, offset, length))
+			return SourceValue.ofBytes(new byte[0]);
+
+		byte[] encodedValue = getBuffer(context, length);
+		for (int index = 0; index < length; index++) {
+			char c = text[offset + index];
+			// a non ASCII character is mapped to one the decoder rejects
+			encodedValue[index] = c < 0x80 ? (byte) c : (byte) '*';
+		}
+
+		try {
+			ByteBuffer decodedValue = Base64.getUrlDecoder().decode(ByteBuffer.wrap(encodedValue, 0, length));
+			return SourceValue.ofBytes(decodedValue.array().length == decodedValue.remaining() ? decodedValue.array()
+					: Arrays.copyOf(decodedValue.array(), decodedValue.remaining()));
+		} catch (IllegalArgumentException e) {
+			ConverterErrorCode errorCode = ConverterErrorCode.SOURCE_NOT_VALID_BASE64URLENCODED_EXCEPTION;
+			return SourceValue.ofError(new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage()));
+		}
+	}
+
+	/**
+	 * Checks if the characters are all whitespace, as {@link String#trim()}
+	 * removes them.
+	 */
+	private static boolean isBlank(char[] text, int offset, int length) {
+		for (int index = offset; index < offset + length; index++) {
+			if (text[index] > ' ')
+				return false;
+		}
+		return true;
+	}
+
+	private static byte[] getBuffer(DeserializationContext context, int length) {
+		byte[] buffer = (byte[]) context.getAttribute(BUFFER_ATTRIBUTE);
+		if (buffer == null || buffer.length < length) {
+			buffer = new byte[length];
+			context.setAttribute(BUFFER_ATTRIBUTE, buffer);
+		}
+		return buffer;
+	}
+}
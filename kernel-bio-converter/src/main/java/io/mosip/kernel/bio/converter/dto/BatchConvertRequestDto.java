@@ -0,0 +1,45 @@
+package io.mosip.kernel.bio.converter.dto;
+
+import java.util.List;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import lombok.Data;
+import lombok.ToString;
+
+/**
+ * Data Transfer Object for batch conversion requests in the bio converter
+ * service.
+ * 
+ * <p>
+ * Every item is an independent {@link ConvertRequestDto} with its own values,
+ * source and target formats and parameters, converted and reported on its own.
+ * </p>
+ * 
+ * <p>
+ * Example usage:
+ * 
+ * <pre>
+ * BatchConvertRequestDto request = new BatchConvertRequestDto();
+ * request.setItems(List.of(fingerRequest, faceRequest, irisRequest));
+ * </pre>
+ * </p>
+ * 
+ * @since 1.3.0
+ */
+@Data
+@ToString
+public class BatchConvertRequestDto {
+	/**
+	 * Maximum number of items of a batch.
+	 */
+	public static final int MAX_ITEMS = 500;
+
+	/**
+	 * The conversion items. The list must contain at least one item.
+	 */
+	@NotNull(message = "Items can not be null")
+	@Size(min = 1, max = MAX_ITEMS, message = "Minimum one and maximum " + MAX_ITEMS + " items allowed")
+	private List<ConvertRequestDto> items;
+}
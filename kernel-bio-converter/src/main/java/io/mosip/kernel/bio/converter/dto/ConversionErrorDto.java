@@ -0,0 +1,31 @@
+package io.mosip.kernel.bio.converter.dto;
+
+import io.mosip.kernel.core.exception.ServiceError;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Error of a single value of a conversion request, reported against the
+ * identifier key of the value when the other values are still converted.
+ * 
+ * @since 1.3.0
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class ConversionErrorDto extends ServiceError {
+	/**
+	 * Identifier key of the value that failed.
+	 */
+	private String key;
+
+	public ConversionErrorDto() {
+		super();
+	}
+
+	public ConversionErrorDto(String key, String errorCode, String message) {
+		super(errorCode, message);
+		this.key = key;
+	}
+}
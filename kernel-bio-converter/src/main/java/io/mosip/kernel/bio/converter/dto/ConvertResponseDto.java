@@ -0,0 +1,33 @@
+package io.mosip.kernel.bio.converter.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import io.mosip.kernel.core.exception.ServiceError;
+import lombok.Data;
+import lombok.ToString;
+
+/**
+ * Data Transfer Object for the result of one conversion item of a batch
+ * conversion request.
+ * 
+ * <p>
+ * Either the converted values are set, or the errors that made the item fail.
+ * </p>
+ * 
+ * @since 1.3.0
+ */
+@Data
+@ToString
+public class ConvertResponseDto {
+	/**
+	 * Base64 URL encoded converted values with identifier keys.
+	 */
+	private Map<String, String> values;
+
+	/**
+	 * Errors of the item, empty when the item is converted.
+	 */
+	private List<ServiceError> errors = new ArrayList<>();
+}
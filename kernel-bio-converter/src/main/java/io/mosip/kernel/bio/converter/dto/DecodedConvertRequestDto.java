@@ -0,0 +1,65 @@
+package io.mosip.kernel.bio.converter.dto;
+
+import java.util.Map;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import lombok.Data;
+import lombok.ToString;
+
+/**
+ * Data Transfer Object for conversion requests whose values are decoded while
+ * the request is parsed.
+ * 
+ * <p>
+ * The JSON form is the one of {@link ConvertRequestDto}, the Base64 URL
+ * encoded values are deserialized by {@link Base64UrlDeserializer} directly
+ * into the source bytes. A value that can not be decoded keeps its decode
+ * error, reported once the request itself has been checked.
+ * </p>
+ * 
+ * @since 1.3.0
+ */
+@Data
+@ToString(exclude = "values")
+public class DecodedConvertRequestDto {
+	/**
+	 * Decoded source values with identifier keys. The map must contain at least
+	 * one entry.
+	 */
+	@NotNull(message = "Values code can not be null")
+	@Size(min = 1, message = "Minimum one entry required")
+	@JsonDeserialize(contentUsing = Base64UrlDeserializer.class)
+	private Map<String, SourceValue> values;
+
+	/**
+	 * The format of the source biometric data.
+	 */
+	@NotNull(message = "SourceFormat code can not be null")
+	@NotBlank(message = "SourceFormat code can not be blank")
+	@NotEmpty(message = "SourceFormat code can not be empty")
+	private String sourceFormat;
+
+	/**
+	 * The format of the target biometric data.
+	 */
+	@NotNull(message = "TargetFormat code can not be null")
+	@NotBlank(message = "TargetFormat code can not be blank")
+	@NotEmpty(message = "TargetFormat code can not be empty")
+	private String targetFormat;
+
+	/**
+	 * A map of source parameters specific to the source format.
+	 */
+	private Map<String, String> sourceParameters;
+
+	/**
+	 * A map of target parameters specific to the target format.
+	 */
+	private Map<String, String> targetParameters;
+}
@@ -0,0 +1,128 @@
+package io.mosip.kernel.bio.converter.dto;
+
+import java.util.Arrays;
+
+import io.mosip.biometrics.util.CommonUtil;
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+
+/**
+ * Source value of a conversion request.
+ *
+ * <p>
+ * A value is either still Base64 URL encoded, already decoded to its raw
+ * bytes, or a value that could not be decoded while the request was parsed. In
+ * the last case the decode error is kept against the value instead of failing
+ * the whole request, and it is raised when the value is converted, after the
+ * request itself has been checked.
+ * </p>
+ *
+ * @since 1.3.0
+ */
+public final class SourceValue {
+	private final String encodedValue;
+	private final byte[] decodedValue;
+	private final ConversionException decodeError;
+
+	private SourceValue(String encodedValue, byte[] decodedValue, ConversionException decodeError) {
+		this.encodedValue = encodedValue;
+		this.decodedValue = decodedValue;
+		this.decodeError = decodeError;
+	}
+
+	/**
+	 * Creates a Base64 URL encoded value, decoded when it is converted.
+	 *
+	 * @param encodedValue the Base64 URL encoded value, may be {@code null}
+	 * @return the source value
+	 */
+	public static SourceValue ofEncoded(String encodedValue) {
+		return new SourceValue(encodedValue, null, null);
+	}
+
+	/**
+	 * Creates a raw value.
+	 *
+	 * @param decodedValue the raw value, may be {@code null}
+	 * @return the source value
+	 */
+	public static SourceValue ofBytes(byte[] decodedValue) {
+		return new SourceValue(null, decodedValue, null);
+	}
+
+	/**
+	 * Creates a value that could not be decoded.
+	 *
+	 * @param decodeError the error raised when the value is converted
+	 * @return the source value
+	 */
+	public static SourceValue ofError(ConversionException decodeError) {
+		return new SourceValue(null, null, decodeError);
+	}
+
+	/**
+	 * Checks if the value is missing, a value that could not be decoded is not.
+	 *
+	 * @return {@code true} if the value is {@code null} or empty
+	 */
+	public boolean isEmpty() {
+		if (decodeError != null)
+			return false;
+		if (decodedValue != null)
+			return decodedValue.length == 0;
+		return encodedValue == null || encodedValue.trim().length() == 0;
+	}
+
+	/**
+	 * Checks if the value is still Base64 URL encoded.
+	 *
+	 * @return {@code true} if {@link #decode()} decodes the value
+	 */
+	public boolean isEncoded() {
+		return decodeError == null && decodedValue == null;
+	}
+
+	/**
+	 * Retrieves the raw value, decoding it when it is still Base64 URL encoded.
+	 *
+	 * @return the raw value
+	 * @throws ConversionException the decode error of the value, or
+	 *                             {@link ConverterErrorCode#SOURCE_NOT_VALID_BASE64URLENCODED_EXCEPTION}
+	 *                             if the value is not Base64 URL encoded
+	 */
+	public byte[] decode() throws ConversionException {
+		if (decodeError != null)
+			throw decodeError;
+		if (decodedValue != null)
+			return decodedValue;
+		try {
+			return CommonUtil.decodeURLSafeBase64(encodedValue);
+		} catch (Exception e) {
+			ConverterErrorCode errorCode = ConverterErrorCode.SOURCE_NOT_VALID_BASE64URLENCODED_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
+		}
+	}
+
+	/**
+	 * Retrieves the first bytes of the raw value, only the matching part of an
+	 * encoded value is decoded.
+	 *
+	 * @param length the number of bytes
+	 * @return up to {@code length} bytes, {@code null} if the value can not be
+	 *         decoded
+	 */
+	public byte[] peek(int length) {
+		try {
+			if (!isEncoded()) {
+				byte[] value = decode();
+				return Arrays.copyOf(value, Math.min(length, value.length));
+			}
+			int encodedLength = (length + 2) / 3 * 4;
+			return CommonUtil.decodeURLSafeBase64(encodedValue.length() > encodedLength
+					? encodedValue.substring(0, encodedLength)
+					: encodedValue);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+}
@@ -7,17 +7,21 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.util.ContentCachingRequestWrapper;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.exception.RequestIdentityAdvice.RequestIdentity;
 import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.util.EmptyCheckUtils;
@@ -49,7 +53,7 @@ public class ConversionExceptionAdvice {
 	private static final Logger logger = LoggerFactory.getLogger(ConversionExceptionAdvice.class);
 
 	/**
-	 * ObjectMapper instance for JSON parsing.
+	 * ObjectMapper instance providing the JSON parser.
 	 */
 	private ObjectMapper objectMapper;
 
@@ -66,6 +70,12 @@ public class ConversionExceptionAdvice {
 	/**
 	 * Handles exceptions and builds the response with error details.
 	 *
+	 * <p>
+	 * A conversion rejected by the admission control is answered with a 503
+	 * status and a {@code Retry-After} header, every other error with a 500
+	 * status.
+	 * </p>
+	 *
 	 * @param request the {@link HttpServletRequest} object.
 	 * @param e       the {@link Exception} thrown.
 	 * @return a {@link ResponseEntity} containing the error details.
@@ -76,12 +86,19 @@ public class ConversionExceptionAdvice {
 			Exception e) throws Exception {
 		ResponseWrapper<ServiceError> responseWrapper = setErrors(request);
 		ServiceError error = null;
-		if (e instanceof ConversionException conversionException) {
+		ConversionException conversionException = findConversionException(e);
+		if (conversionException != null) {
 			error = new ServiceError(conversionException.getErrorCode(), conversionException.getMessage());
 		} else {
 			error = new ServiceError(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(), e.getMessage());
 		}
 		responseWrapper.getErrors().add(error);
+		if (conversionException instanceof ConversionRejectedException rejectedException) {
+			logger.warn("Conversion rejected: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+					.header(HttpHeaders.RETRY_AFTER, String.valueOf(rejectedException.getRetryAfterSeconds()))
+					.contentType(MediaType.APPLICATION_JSON).body(responseWrapper);
+		}
 		logger.error("Exception Root Cause: {} ", e.getMessage());
 		logger.debug("Exception Root Cause:", e);
 
@@ -89,25 +106,105 @@ public class ConversionExceptionAdvice {
 				.body(responseWrapper);
 	}
 
+	/**
+	 * Finds the {@link ConversionException} behind the exception, a conversion
+	 * error raised while the request body is deserialized reaches the handler
+	 * wrapped in the message conversion exceptions.
+	 *
+	 * @param e the {@link Exception} thrown.
+	 * @return the {@link ConversionException}, or {@code null} if there is none.
+	 */
+	private ConversionException findConversionException(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof ConversionException conversionException)
+				return conversionException;
+		}
+		return null;
+	}
+
 	/**
 	 * Sets the error details in the {@link ResponseWrapper} from the request.
 	 *
+	 * <p>
+	 * The id and version captured by {@link RequestIdentityAdvice} are used when
+	 * the request body has been bound. Otherwise, e.g. when the body could not
+	 * be read, they are parsed from the cached request body, stopping as soon as
+	 * both fields are found.
+	 * </p>
+	 *
 	 * @param httpServletRequest the {@link HttpServletRequest} object.
 	 * @return a {@link ResponseWrapper} with the error details.
 	 * @throws IOException if there is an error reading the request body.
 	 */
 	public ResponseWrapper<ServiceError> setErrors(HttpServletRequest httpServletRequest) throws Exception {
 		ResponseWrapper<ServiceError> responseWrapper = new ResponseWrapper<>();
-		String requestBody = null;
+		if (!isJsonRequest(httpServletRequest)) {
+			return responseWrapper;
+		}
+		if (httpServletRequest.getAttribute(
+				RequestIdentityAdvice.REQUEST_IDENTITY_ATTRIBUTE) instanceof RequestIdentity requestIdentity) {
+			responseWrapper.setId(requestIdentity.id());
+			responseWrapper.setVersion(requestIdentity.version());
+			return responseWrapper;
+		}
+		byte[] requestBody = null;
 		if (httpServletRequest instanceof ContentCachingRequestWrapper requestWrapper) {
-			requestBody = new String(requestWrapper.getContentAsByteArray());
+			requestBody = requestWrapper.getContentAsByteArray();
 		}
-		if (EmptyCheckUtils.isNullEmpty(requestBody)) {
+		if (requestBody == null || requestBody.length == 0) {
 			return responseWrapper;
 		}
-		JsonNode reqNode = objectMapper.readTree(requestBody);
-		responseWrapper.setId(reqNode.path("id").asText());
-		responseWrapper.setVersion(reqNode.path("version").asText());
+		readRequestIdentity(requestBody, responseWrapper);
 		return responseWrapper;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Reads the top level id and version of the request body with a streaming
+	 * parser; the other fields, including the biometric values, are skipped
+	 * without being materialized.
+	 *
+	 * @param requestBody     the request body.
+	 * @param responseWrapper the {@link ResponseWrapper} to set the id and
+	 *                        version on.
+	 */
+	private void readRequestIdentity(byte[] requestBody, ResponseWrapper<ServiceError> responseWrapper) {
+		String id = null;
+		String version = null;
+		try (JsonParser parser = objectMapper.getFactory().createParser(requestBody)) {
+			boolean object = parser.nextToken() == JsonToken.START_OBJECT;
+			while (object && (id == null || version == null) && parser.nextToken() == JsonToken.FIELD_NAME) {
+				String fieldName = parser.currentName();
+				parser.nextToken();
+				if ("id".equals(fieldName)) {
+					id = parser.getValueAsString("");
+				} else if ("version".equals(fieldName)) {
+					version = parser.getValueAsString("");
+				}
+				parser.skipChildren();
+			}
+		} catch (IOException e) {
+			logger.debug("Could not read the request id and version: {}", e.getMessage());
+		}
+		responseWrapper.setId(id != null ? id : "");
+		responseWrapper.setVersion(version != null ? version : "");
+	}
+
+	/**
+	 * Checks if the request carries a JSON body, the binary conversion requests
+	 * have no id and version to be read back.
+	 *
+	 * @param httpServletRequest the {@link HttpServletRequest} object.
+	 * @return {@code true} if the request content type is JSON or not given.
+	 */
+	private boolean isJsonRequest(HttpServletRequest httpServletRequest) {
+		String contentType = httpServletRequest.getContentType();
+		if (EmptyCheckUtils.isNullEmpty(contentType)) {
+			return true;
+		}
+		try {
+			return MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+		} catch (InvalidMediaTypeException e) {
+			return false;
+		}
+	}
+}
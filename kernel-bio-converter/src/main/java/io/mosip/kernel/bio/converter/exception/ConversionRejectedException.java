@@ -0,0 +1,47 @@
+package io.mosip.kernel.bio.converter.exception;
+
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+
+/**
+ * Exception thrown when a conversion is not admitted because the service is
+ * already converting as many requests as it is allowed to.
+ *
+ * <p>
+ * The request can be retried, on this instance after the given delay or on
+ * another instance right away.
+ * </p>
+ *
+ * @since 1.3.0
+ */
+public class ConversionRejectedException extends ConversionException {
+	/**
+	 * Generated serial version id
+	 */
+	private static final long serialVersionUID = -3180364742617702215L;
+
+	/**
+	 * Delay in seconds after which the request may be retried.
+	 */
+	private final long retryAfterSeconds;
+
+	/**
+	 * Constructs a new ConversionRejectedException.
+	 *
+	 * @param retryAfterSeconds delay in seconds after which the request may be
+	 *                          retried
+	 */
+	public ConversionRejectedException(long retryAfterSeconds) {
+		super(ConverterErrorCode.CONVERSION_CAPACITY_EXCEEDED_EXCEPTION.getErrorCode(),
+				ConverterErrorCode.CONVERSION_CAPACITY_EXCEEDED_EXCEPTION.getErrorMessage());
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	/**
+	 * Retrieves the delay after which the request may be retried.
+	 *
+	 * @return the delay in seconds
+	 */
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
@@ -0,0 +1,58 @@
+package io.mosip.kernel.bio.converter.exception;
+
+import java.lang.reflect.Type;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import io.mosip.kernel.core.http.RequestWrapper;
+
+/**
+ * RequestIdentityAdvice keeps the id and version of every bound
+ * {@link RequestWrapper} as a request attribute.
+ *
+ * <p>
+ * The {@link ConversionExceptionAdvice} echoes them in the error response
+ * without reading the request body again, which for a biometric payload can be
+ * several megabytes.
+ * </p>
+ *
+ * @since 1.3.0
+ */
+@ControllerAdvice
+public class RequestIdentityAdvice extends RequestBodyAdviceAdapter {
+	/**
+	 * Name of the request attribute holding the {@link RequestIdentity}.
+	 */
+	public static final String REQUEST_IDENTITY_ATTRIBUTE = RequestIdentityAdvice.class.getName() + ".identity";
+
+	/**
+	 * Id and version of a request.
+	 *
+	 * @param id      the request id
+	 * @param version the request version
+	 */
+	public record RequestIdentity(String id, String version) {
+	}
+
+	@Override
+	public boolean supports(MethodParameter methodParameter, Type targetType,
+			Class<? extends HttpMessageConverter<?>> converterType) {
+		return RequestWrapper.class.isAssignableFrom(methodParameter.getParameterType());
+	}
+
+	@Override
+	public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+			Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+		if (body instanceof RequestWrapper<?> requestWrapper
+				&& inputMessage instanceof ServletServerHttpRequest servletRequest) {
+			servletRequest.getServletRequest().setAttribute(REQUEST_IDENTITY_ATTRIBUTE,
+					new RequestIdentity(requestWrapper.getId(), requestWrapper.getVersion()));
+		}
+		return body;
+	}
+}
@@ -0,0 +1,89 @@
+package io.mosip.kernel.bio.converter.service;
+
+import java.util.function.BiConsumer;
+
+/**
+ * How the values of a conversion request are converted and returned.
+ *
+ * <ul>
+ * <li>{@code partialFailure}: a value that can not be converted is reported
+ * against its key in the errors of the response instead of failing the
+ * request.</li>
+ * <li>{@code async}: the calling thread returns as soon as the request is
+ * admitted and every value is converted on the conversion pool.</li>
+ * <li>{@code sink}: every converted value is handed, raw, to the sink as soon
+ * as it is converted instead of being Base64 URL encoded into the response.
+ * The sink is called by one thread at a time, the calling thread unless the
+ * conversion is asynchronous.</li>
+ * </ul>
+ *
+ * @since 1.3.0
+ */
+public final class ConversionOptions {
+	private static final ConversionOptions DEFAULTS = new ConversionOptions(false, false, null);
+
+	private final boolean partialFailure;
+	private final boolean async;
+	private final BiConsumer<String, byte[]> sink;
+
+	private ConversionOptions(boolean partialFailure, boolean async, BiConsumer<String, byte[]> sink) {
+		this.partialFailure = partialFailure;
+		this.async = async;
+		this.sink = sink;
+	}
+
+	/**
+	 * Returns the options of a synchronous conversion that fails on the first
+	 * failing value and returns the values in the response.
+	 *
+	 * @return the default options
+	 */
+	public static ConversionOptions defaults() {
+		return DEFAULTS;
+	}
+
+	/**
+	 * Returns these options with the given partial failure mode.
+	 *
+	 * @param partialFailure {@code true} to report the failing values instead of
+	 *                       failing the request
+	 * @return the options
+	 */
+	public ConversionOptions withPartialFailure(boolean partialFailure) {
+		return new ConversionOptions(partialFailure, async, sink);
+	}
+
+	/**
+	 * Returns these options with the given execution mode.
+	 *
+	 * @param async {@code true} to convert the values on the conversion pool
+	 * @return the options
+	 */
+	public ConversionOptions withAsync(boolean async) {
+		return new ConversionOptions(partialFailure, async, sink);
+	}
+
+	/**
+	 * Returns these options with the given sink.
+	 *
+	 * @param sink receives the identifier key and the raw converted value of
+	 *             every converted value, {@code null} to return the values in
+	 *             the response
+	 * @return the options
+	 */
+	public ConversionOptions withSink(BiConsumer<String, byte[]> sink) {
+		return new ConversionOptions(partialFailure, async, sink);
+	}
+
+	public boolean isPartialFailure() {
+		return partialFailure;
+	}
+
+	public boolean isAsync() {
+		return async;
+	}
+
+	public BiConsumer<String, byte[]> getSink() {
+		return sink;
+	}
+}
@@ -1,7 +1,13 @@
 package io.mosip.kernel.bio.converter.service;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import io.mosip.kernel.bio.converter.dto.ConvertRequestDto;
+import io.mosip.kernel.bio.converter.dto.ConvertResponseDto;
+import io.mosip.kernel.bio.converter.dto.SourceValue;
 import io.mosip.kernel.bio.converter.exception.ConversionException;
 
 /**
@@ -44,5 +50,53 @@ public interface IConverterApi {
 	  * MOS-CNV-003 Invalid source value
 	  * MOS-CNV-500 Technical Error
 	  */
-	  Map<String, String> convert(Map<String, String> values, String sourceFormat, String targetFormat, Map<String, String> sourceParameters, Map<String, String> targetParameters) throws ConversionException;	  
+	  Map<String, String> convert(Map<String, String> values, String sourceFormat, String targetFormat, Map<String, String> sourceParameters, Map<String, String> targetParameters) throws ConversionException;
+
+	  /**
+	  * Converts the values of a request with the given options, this is the conversion behind every endpoint.
+	  * The request is checked, and the values are decoded, converted and encoded, exactly as for
+	  * {@link #convert(Map, String, String, Map, Map)}.
+	  *
+	  * @param values source values with identifier keys, Base64 URL encoded, raw, or not decodable
+	  * @param sourceFormat input value mime type, if not supported, the returned future fails with a ConversionException
+	  * @param targetFormat output value mime type, if not supported, the returned future fails with a ConversionException
+	  * @param sourceParameters Provided source value/format related parameters to be considered during conversion. Unknown parameters are ignored.
+	  * @param targetParameters parameters to be considered during conversion to target format. Unknown parameters are ignored.
+	  * @param options partial failure mode, asynchronous conversion and value sink, see {@link ConversionOptions}
+	  * @return a future of the converted Base64 URL encoded values, none when the options have a sink, and with partial
+	  *         failure the errors of the keys that failed; unless the options are asynchronous the future is complete
+	  *         when this method returns. The future fails with a ConversionException with the same error codes as
+	  *         {@link #convert(Map, String, String, Map, Map)}
+	  */
+	  CompletableFuture<ConvertResponseDto> convert(Map<String, SourceValue> values, String sourceFormat, String targetFormat, Map<String, String> sourceParameters, Map<String, String> targetParameters, ConversionOptions options);
+
+	  /**
+	  * Converts a batch of independent conversion items, each with its own values, formats and parameters.
+	  * A failing item does not fail the batch, its errors are reported in its own result.
+	  *
+	  * @param items the conversion items, as for {@link #convert(Map, String, String, Map, Map)}
+	  * @param partialFailure {@code true} to report the failing values of an item instead of failing the whole item
+	  * @return one result per item, in the order of the items
+	  * @throws ConversionException if the batch itself can not be processed
+	  */
+	  List<ConvertResponseDto> convertBatch(List<ConvertRequestDto> items, boolean partialFailure) throws ConversionException;
+
+	  /**
+	  * Waits for a conversion and rethrows its ConversionException as it is, instead of wrapped in a
+	  * {@link java.util.concurrent.CompletionException}.
+	  *
+	  * @param <T> the type of the conversion result
+	  * @param conversion the future of the conversion
+	  * @return the conversion result
+	  * @throws ConversionException the error of the conversion
+	  */
+	  static <T> T join(CompletableFuture<T> conversion) throws ConversionException {
+		  try {
+			  return conversion.join();
+		  } catch (CompletionException e) {
+			  if (e.getCause() instanceof ConversionException conversionException)
+				  throw conversionException;
+			  throw e;
+		  }
+	  }
 	}
\ No newline at end of file
@@ -0,0 +1,172 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bounded worker pool used to convert the entries of a request in parallel.
+ *
+ * <p>
+ * Image decoding and encoding is CPU bound, so the pool is a fixed size pool
+ * sized to the available processors unless a pool size is configured. The
+ * pool is created up front when parallel conversion is enabled, otherwise on
+ * the first asynchronous conversion.
+ * </p>
+ *
+ * <p>
+ * When the requests are handled on virtual threads
+ * ({@code spring.threads.virtual.enabled}), the conversions are offloaded to
+ * the pool: the virtual request thread only reads the request, waits for the
+ * converted values and writes the response, so slow clients do not hold any of
+ * the conversion capacity.
+ * </p>
+ *
+ * <pre>
+ * mosip.kernel.bio.converter.parallel.enabled=true
+ * mosip.kernel.bio.converter.parallel.pool-size=0
+ * spring.threads.virtual.enabled=true
+ * </pre>
+ *
+ * @since 1.3.0
+ */
+@Component
+public class ConversionExecutor {
+	private final boolean parallelEnabled;
+	private final boolean offloadEnabled;
+	private final int threads;
+	private volatile ExecutorService executorService;
+
+	/**
+	 * Constructs an executor that runs the conversions on the calling thread
+	 * unless parallel conversion is enabled.
+	 *
+	 * @param parallelEnabled {@code true} to convert the entries of a request in
+	 *                        parallel
+	 * @param poolSize        number of worker threads, {@code 0} or less to use
+	 *                        the number of available processors
+	 */
+	public ConversionExecutor(boolean parallelEnabled, int poolSize) {
+		this(parallelEnabled, poolSize, false);
+	}
+
+	/**
+	 * Constructs the executor.
+	 *
+	 * @param parallelEnabled {@code true} to convert the entries of a request in
+	 *                        parallel
+	 * @param poolSize        number of worker threads, {@code 0} or less to use
+	 *                        the number of available processors
+	 * @param offloadEnabled  {@code true} to run every conversion on the pool,
+	 *                        when the requests are handled on virtual threads
+	 */
+	@Autowired
+	public ConversionExecutor(@Value("${mosip.kernel.bio.converter.parallel.enabled:false}") boolean parallelEnabled,
+			@Value("${mosip.kernel.bio.converter.parallel.pool-size:0}") int poolSize,
+			@Value("${spring.threads.virtual.enabled:false}") boolean offloadEnabled) {
+		this.parallelEnabled = parallelEnabled;
+		this.offloadEnabled = offloadEnabled;
+		this.threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+		if (parallelEnabled || offloadEnabled)
+			this.executorService = Executors.newFixedThreadPool(threads, new ConversionThreadFactory());
+	}
+
+	/**
+	 * Checks if parallel conversion is enabled.
+	 *
+	 * @return {@code true} if entries are to be converted in parallel
+	 */
+	public boolean isParallelEnabled() {
+		return parallelEnabled;
+	}
+
+	/**
+	 * Checks if every conversion is to be run on the pool rather than on the
+	 * calling request thread.
+	 *
+	 * @return {@code true} if the conversions are offloaded to the pool
+	 */
+	public boolean isOffloadEnabled() {
+		return offloadEnabled;
+	}
+
+	/**
+	 * Retrieves the underlying executor service.
+	 *
+	 * @return the executor service, or {@code null} when neither parallel
+	 *         conversion nor offloading is enabled
+	 */
+	public ExecutorService getExecutorService() {
+		return parallelEnabled || offloadEnabled ? executorService : null;
+	}
+
+	/**
+	 * Retrieves the executor service of the asynchronous conversions, which is
+	 * the same pool as the parallel conversions.
+	 *
+	 * @return the executor service, created on first use when neither parallel
+	 *         conversion nor offloading is enabled
+	 */
+	public ExecutorService getAsyncExecutorService() {
+		ExecutorService result = executorService;
+		if (result == null) {
+			synchronized (this) {
+				result = executorService;
+				if (result == null) {
+					result = Executors.newFixedThreadPool(threads, new ConversionThreadFactory());
+					executorService = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Checks if the calling thread is a conversion worker thread. Work already
+	 * running on the pool must not wait on tasks queued on the same pool.
+	 *
+	 * @return {@code true} if called from a conversion worker thread
+	 */
+	public boolean isWorkerThread() {
+		return Thread.currentThread() instanceof ConversionThread;
+	}
+
+	/**
+	 * Stops the worker threads on application shutdown.
+	 */
+	@PreDestroy
+	public synchronized void shutdown() {
+		if (executorService != null)
+			executorService.shutdownNow();
+	}
+
+	/**
+	 * Creates named daemon worker threads.
+	 */
+	private static final class ConversionThreadFactory implements ThreadFactory {
+		private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new ConversionThread(runnable, "bio-converter-" + threadNumber.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+	/**
+	 * Marker type of the worker threads.
+	 */
+	private static final class ConversionThread extends Thread {
+		ConversionThread(Runnable runnable, String name) {
+			super(runnable, name);
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+import io.mosip.kernel.bio.converter.exception.ConversionRejectedException;
+
+/**
+ * Admission control of the conversion requests, per modality.
+ *
+ * <p>
+ * Conversions are CPU bound, so only a limited number of requests of each
+ * modality (finger, face, iris) are converted at the same time. A request that
+ * finds no free permit waits in a bounded queue for at most the queue timeout.
+ * When the queue is full or the timeout elapses, the request is rejected right
+ * away with a {@link ConversionRejectedException}, so that the client can retry
+ * on another instance instead of every request slowing down together.
+ * </p>
+ *
+ * <pre>
+ * mosip.kernel.bio.converter.admission.enabled=true
+ * mosip.kernel.bio.converter.admission.finger.permits=0
+ * mosip.kernel.bio.converter.admission.face.permits=0
+ * mosip.kernel.bio.converter.admission.iris.permits=0
+ * mosip.kernel.bio.converter.admission.queue-depth=16
+ * mosip.kernel.bio.converter.admission.queue-timeout-millis=2000
+ * mosip.kernel.bio.converter.admission.retry-after-seconds=1
+ * </pre>
+ *
+ * @since 1.3.0
+ */
+@Component
+public class ConversionLimiter {
+	private final Map<SourceFormatCode, Permits> permits = new EnumMap<>(SourceFormatCode.class);
+	private final int queueDepth;
+	private final long queueTimeoutMillis;
+	private final long retryAfterSeconds;
+
+	/**
+	 * Constructs a limiter that admits every request.
+	 */
+	public ConversionLimiter() {
+		this(false, 0, 0, 0, 0, 0, 0);
+	}
+
+	/**
+	 * Constructs the limiter.
+	 *
+	 * @param enabled            {@code true} to limit the concurrent requests
+	 * @param fingerPermits      number of finger requests converted at the same
+	 *                           time, {@code 0} or less for the number of
+	 *                           available processors
+	 * @param facePermits        number of face requests converted at the same
+	 *                           time, {@code 0} or less for the number of
+	 *                           available processors
+	 * @param irisPermits        number of iris requests converted at the same
+	 *                           time, {@code 0} or less for the number of
+	 *                           available processors
+	 * @param queueDepth         number of requests of a modality that may wait
+	 *                           for a permit
+	 * @param queueTimeoutMillis time a request may wait for a permit
+	 * @param retryAfterSeconds  delay after which a rejected request may be
+	 *                           retried
+	 */
+	@Autowired
+	public ConversionLimiter(@Value("${mosip.kernel.bio.converter.admission.enabled:false}") boolean enabled,
+			@Value("${mosip.kernel.bio.converter.admission.finger.permits:0}") int fingerPermits,
+			@Value("${mosip.kernel.bio.converter.admission.face.permits:0}") int facePermits,
+			@Value("${mosip.kernel.bio.converter.admission.iris.permits:0}") int irisPermits,
+			@Value("${mosip.kernel.bio.converter.admission.queue-depth:16}") int queueDepth,
+			@Value("${mosip.kernel.bio.converter.admission.queue-timeout-millis:2000}") long queueTimeoutMillis,
+			@Value("${mosip.kernel.bio.converter.admission.retry-after-seconds:1}") long retryAfterSeconds) {
+		this.queueDepth = Math.max(queueDepth, 0);
+		this.queueTimeoutMillis = Math.max(queueTimeoutMillis, 0);
+		this.retryAfterSeconds = Math.max(retryAfterSeconds, 0);
+		if (enabled) {
+			Permits finger = new Permits(fingerPermits);
+			permits.put(SourceFormatCode.ISO19794_2_2011, finger);
+			permits.put(SourceFormatCode.ISO19794_4_2011, finger);
+			permits.put(SourceFormatCode.ISO19794_5_2011, new Permits(facePermits));
+			permits.put(SourceFormatCode.ISO19794_6_2011, new Permits(irisPermits));
+		}
+	}
+
+	/**
+	 * Takes a permit of every modality of a request, in the order of the source
+	 * formats so that two requests mixing modalities can not wait on each other.
+	 * The permits already taken are given back if one can not be taken. They must
+	 * be given back with {@link #release(Set)} once the conversion has completed,
+	 * possibly on another thread.
+	 *
+	 * @param sourceCodes the source formats of the values of the request
+	 * @throws ConversionRejectedException if a permit is not available within the
+	 *                                     queue timeout or its queue is full
+	 */
+	public void acquire(Set<SourceFormatCode> sourceCodes) {
+		List<Permits> acquired = new ArrayList<>();
+		try {
+			for (Permits modalityPermits : getPermits(sourceCodes)) {
+				acquirePermit(modalityPermits);
+				acquired.add(modalityPermits);
+			}
+		} catch (RuntimeException e) {
+			for (Permits modalityPermits : acquired)
+				modalityPermits.semaphore.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Gives back the permits taken by {@link #acquire(Set)}.
+	 *
+	 * @param sourceCodes the source formats of the values of the request
+	 */
+	public void release(Set<SourceFormatCode> sourceCodes) {
+		for (Permits modalityPermits : getPermits(sourceCodes))
+			modalityPermits.semaphore.release();
+	}
+
+	/**
+	 * Retrieves the number of permits of a modality not in use.
+	 *
+	 * @param sourceCode the source format of the modality
+	 * @return the free permits, {@code -1} if the modality is not limited
+	 */
+	public int getAvailablePermits(SourceFormatCode sourceCode) {
+		Permits modalityPermits = permits.get(sourceCode);
+		return modalityPermits != null ? modalityPermits.semaphore.availablePermits() : -1;
+	}
+
+	/**
+	 * Retrieves the permits of the source formats, each modality once, in the
+	 * order of the source formats.
+	 */
+	private Collection<Permits> getPermits(Set<SourceFormatCode> sourceCodes) {
+		Set<Permits> modalityPermits = new LinkedHashSet<>();
+		for (SourceFormatCode sourceCode : sourceCodes.isEmpty() ? sourceCodes : EnumSet.copyOf(sourceCodes)) {
+			if (permits.containsKey(sourceCode))
+				modalityPermits.add(permits.get(sourceCode));
+		}
+		return modalityPermits;
+	}
+
+	private void acquirePermit(Permits modalityPermits) {
+		if (modalityPermits.semaphore.tryAcquire())
+			return;
+
+		if (modalityPermits.waiting.incrementAndGet() > queueDepth) {
+			modalityPermits.waiting.decrementAndGet();
+			throw new ConversionRejectedException(retryAfterSeconds);
+		}
+		try {
+			if (!modalityPermits.semaphore.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS))
+				throw new ConversionRejectedException(retryAfterSeconds);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+					e.getLocalizedMessage(), e);
+		} finally {
+			modalityPermits.waiting.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Permits of one modality and the number of requests waiting for one.
+	 */
+	private static final class Permits {
+		private final Semaphore semaphore;
+		private final AtomicInteger waiting = new AtomicInteger();
+
+		Permits(int count) {
+			this.semaphore = new Semaphore(count > 0 ? count : Runtime.getRuntime().availableProcessors(), true);
+		}
+	}
+}
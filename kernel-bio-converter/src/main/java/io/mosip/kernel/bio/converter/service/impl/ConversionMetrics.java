@@ -0,0 +1,250 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.mosip.biometrics.util.face.ImageDataType;
+import io.mosip.biometrics.util.finger.FingerImageCompressionType;
+import io.mosip.biometrics.util.iris.ImageFormat;
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
+import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+
+/**
+ * Micrometer instrumentation of the conversion of a value.
+ *
+ * <p>
+ * The conversion of a value runs on a single thread, so the stage durations,
+ * the compression type of the source image and the byte sizes are collected
+ * in a thread bound recorder and published when the conversion completes,
+ * all tagged with the same {@code sourceFormat}, {@code targetFormat},
+ * {@code compression} and {@code outcome}:
+ * <ul>
+ * <li>{@value #CONVERSION_TIMER} - whole conversion of a value</li>
+ * <li>{@value #STAGE_TIMER} - every {@link Stage}, tagged with
+ * {@code stage}</li>
+ * <li>{@value #INPUT_SIZE} and {@value #OUTPUT_SIZE} - source and converted
+ * value sizes in bytes</li>
+ * </ul>
+ * The outcome is {@code success} or the error code of the failure. Without a
+ * {@link MeterRegistry} nothing is recorded.
+ * </p>
+ *
+ * @since 1.3.0
+ */
+@Component
+public class ConversionMetrics {
+	public static final String CONVERSION_TIMER = "bio.converter.conversion";
+	public static final String STAGE_TIMER = "bio.converter.stage";
+	public static final String INPUT_SIZE = "bio.converter.input.size";
+	public static final String OUTPUT_SIZE = "bio.converter.output.size";
+
+	private static final String OUTCOME_SUCCESS = "success";
+	private static final String COMPRESSION_UNKNOWN = "UNKNOWN";
+	private static final String BYTES = "bytes";
+
+	/**
+	 * Stages of the conversion of a value.
+	 */
+	public enum Stage {
+		BASE64_DECODE("base64-decode"), ISO_PARSE("iso-parse"), IMAGE_DECODE("image-decode"), RESIZE("resize"),
+		IMAGE_ENCODE("image-encode"), BASE64_ENCODE("base64-encode");
+
+		private final String tag;
+
+		private Stage(String tag) {
+			this.tag = tag;
+		}
+
+		public String getTag() {
+			return tag;
+		}
+	}
+
+	private final MeterRegistry meterRegistry;
+	private final ThreadLocal<Recorder> recorder = new ThreadLocal<>();
+
+	/**
+	 * Constructs the metrics.
+	 *
+	 * @param meterRegistry registry to publish the metrics to, may be
+	 *                      {@code null}
+	 */
+	@Autowired
+	public ConversionMetrics(@Nullable MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Measures the conversion of a value, the stages run by the conversion on the
+	 * calling thread are recorded against it.
+	 *
+	 * @param sourceCode the source format
+	 * @param targetCode the target format
+	 * @param conversion the conversion
+	 * @return the result of the conversion
+	 */
+	public <T> T measureConversion(SourceFormatCode sourceCode, TargetFormatCode targetCode,
+			Supplier<T> conversion) {
+		if (meterRegistry == null || recorder.get() != null)
+			return conversion.get();
+
+		Recorder current = new Recorder();
+		recorder.set(current);
+		long start = System.nanoTime();
+		String outcome = OUTCOME_SUCCESS;
+		try {
+			return conversion.get();
+		} catch (ConversionException e) {
+			outcome = e.getErrorCode();
+			throw e;
+		} catch (RuntimeException e) {
+			outcome = ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode();
+			throw e;
+		} finally {
+			recorder.remove();
+			publish(current, sourceCode, targetCode, outcome, System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Starts timing a stage.
+	 *
+	 * @return the start time to pass to {@link #endStage(Stage, long)}
+	 */
+	public long startStage() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Ends timing a stage of the conversion measured on the calling thread.
+	 *
+	 * @param stage the stage
+	 * @param start the start time returned by {@link #startStage()}
+	 */
+	public void endStage(Stage stage, long start) {
+		Recorder current = recorder.get();
+		if (current != null)
+			current.stageNanos[stage.ordinal()] += System.nanoTime() - start;
+	}
+
+	/**
+	 * Records the compression type of the source image of the conversion
+	 * measured on the calling thread.
+	 *
+	 * @param sourceCode the source format
+	 * @param imageType  the finger image compression type, the face image data
+	 *                   type or the iris image format
+	 */
+	public void setCompression(SourceFormatCode sourceCode, int imageType) {
+		Recorder current = recorder.get();
+		if (current != null)
+			current.compression = getCompressionTag(sourceCode, imageType);
+	}
+
+	/**
+	 * Records the source and converted value sizes of the conversion measured on
+	 * the calling thread.
+	 *
+	 * @param inputSize  the source value size in bytes
+	 * @param outputSize the converted value size in bytes
+	 */
+	public void setSizes(int inputSize, int outputSize) {
+		Recorder current = recorder.get();
+		if (current != null) {
+			current.inputSize = inputSize;
+			current.outputSize = outputSize;
+		}
+	}
+
+	private void publish(Recorder current, SourceFormatCode sourceCode, TargetFormatCode targetCode, String outcome,
+			long conversionNanos) {
+		Tags tags = Tags.of("sourceFormat", sourceCode.getCode(), "targetFormat", targetCode.getCode(),
+				"compression", current.compression, "outcome", outcome);
+
+		Timer.builder(CONVERSION_TIMER).description("Conversion of a value").tags(tags).publishPercentileHistogram()
+				.register(meterRegistry).record(conversionNanos, TimeUnit.NANOSECONDS);
+		for (Stage stage : Stage.values()) {
+			long stageNanos = current.stageNanos[stage.ordinal()];
+			if (stageNanos > 0)
+				Timer.builder(STAGE_TIMER).description("Stage of the conversion of a value").tags(tags)
+						.tag("stage", stage.getTag()).register(meterRegistry)
+						.record(stageNanos, TimeUnit.NANOSECONDS);
+		}
+		if (current.inputSize >= 0)
+			DistributionSummary.builder(INPUT_SIZE).description("Source value size").baseUnit(BYTES).tags(tags)
+					.register(meterRegistry).record(current.inputSize);
+		if (current.outputSize >= 0)
+			DistributionSummary.builder(OUTPUT_SIZE).description("Converted value size").baseUnit(BYTES).tags(tags)
+					.register(meterRegistry).record(current.outputSize);
+	}
+
+	private static String getCompressionTag(SourceFormatCode sourceCode, int imageType) {
+		switch (sourceCode) {
+		case ISO19794_4_2011:
+			switch (imageType) {
+			case FingerImageCompressionType.WSQ:
+				return "WSQ";
+			case FingerImageCompressionType.JPEG_2000_LOSSY:
+				return "JPEG2000_LOSSY";
+			case FingerImageCompressionType.JPEG_2000_LOSS_LESS:
+				return "JPEG2000_LOSSLESS";
+			case FingerImageCompressionType.JPEG_LOSSY:
+				return "JPEG";
+			case FingerImageCompressionType.PNG:
+				return "PNG";
+			case FingerImageCompressionType.NONE_NO_BIT_PACKING, FingerImageCompressionType.NONE_BIT_PACKED:
+				return "RAW";
+			default:
+				return COMPRESSION_UNKNOWN;
+			}
+		case ISO19794_5_2011:
+			switch (imageType) {
+			case ImageDataType.JPEG2000_LOSSY:
+				return "JPEG2000_LOSSY";
+			case ImageDataType.JPEG2000_LOSS_LESS:
+				return "JPEG2000_LOSSLESS";
+			case ImageDataType.JPEG:
+				return "JPEG";
+			case ImageDataType.PNG:
+				return "PNG";
+			default:
+				return COMPRESSION_UNKNOWN;
+			}
+		case ISO19794_6_2011:
+			switch (imageType) {
+			case ImageFormat.MONO_JPEG2000:
+				return "JPEG2000";
+			case ImageFormat.MONO_JPEG:
+				return "JPEG";
+			case ImageFormat.MONO_PNG:
+				return "PNG";
+			case ImageFormat.MONO_RAW:
+				return "RAW";
+			default:
+				return COMPRESSION_UNKNOWN;
+			}
+		default:
+			return COMPRESSION_UNKNOWN;
+		}
+	}
+
+	/**
+	 * Measurements of the conversion of a value.
+	 */
+	private static final class Recorder {
+		private final long[] stageNanos = new long[Stage.values().length];
+		private String compression = COMPRESSION_UNKNOWN;
+		private int inputSize = -1;
+		private int outputSize = -1;
+	}
+}
@@ -0,0 +1,161 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
+import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+
+/**
+ * Content addressed cache of the converted values.
+ *
+ * <p>
+ * The cache key is the SHA-256 digest of the source bytes, the source format,
+ * the target format and the target parameters, so identical conversions
+ * requested again are served without decoding the source image. The cache is
+ * bounded by the total size of the cached values in bytes and uses the
+ * W-TinyLFU eviction policy of Caffeine. Hit, miss and eviction counts are
+ * published to the {@link MeterRegistry} under the
+ * {@value #CACHE_NAME} cache name.
+ * </p>
+ *
+ * <pre>
+ * mosip.kernel.bio.converter.cache.enabled=true
+ * mosip.kernel.bio.converter.cache.max-size-bytes=134217728
+ * mosip.kernel.bio.converter.cache.expire-after-access-seconds=3600
+ * </pre>
+ *
+ * @since 1.3.0
+ */
+@Component
+public class ConversionResultCache {
+	/**
+	 * Name of the cache in the published metrics.
+	 */
+	public static final String CACHE_NAME = "bio-converter-results";
+
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+
+	private final Cache<String, byte[]> cache;
+
+	/**
+	 * Constructs the cache.
+	 *
+	 * @param enabled                  {@code true} to cache the converted values
+	 * @param maxSizeBytes             maximum total size of the cached values in
+	 *                                 bytes
+	 * @param expireAfterAccessSeconds seconds after the last access a value is
+	 *                                 evicted
+	 * @param meterRegistry            registry to publish the cache metrics to,
+	 *                                 may be {@code null}
+	 */
+	@Autowired
+	public ConversionResultCache(@Value("${mosip.kernel.bio.converter.cache.enabled:false}") boolean enabled,
+			@Value("${mosip.kernel.bio.converter.cache.max-size-bytes:134217728}") long maxSizeBytes,
+			@Value("${mosip.kernel.bio.converter.cache.expire-after-access-seconds:3600}") long expireAfterAccessSeconds,
+			@Nullable MeterRegistry meterRegistry) {
+		if (enabled) {
+			this.cache = Caffeine.newBuilder().maximumWeight(maxSizeBytes)
+					.weigher((String key, byte[] value) -> key.length() + value.length)
+					.expireAfterAccess(Duration.ofSeconds(expireAfterAccessSeconds)).recordStats().build();
+			if (meterRegistry != null)
+				CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+		} else {
+			this.cache = null;
+		}
+	}
+
+	/**
+	 * Checks if the cache is enabled.
+	 *
+	 * @return {@code true} if converted values are cached
+	 */
+	public boolean isEnabled() {
+		return cache != null;
+	}
+
+	/**
+	 * Creates the content addressed key of a conversion.
+	 *
+	 * @param isoData          the source bytes
+	 * @param sourceCode       the source format
+	 * @param targetCode       the target format
+	 * @param targetParameters the target parameters, may be {@code null}
+	 * @return the hex encoded SHA-256 digest identifying the conversion
+	 */
+	public String createKey(byte[] isoData, SourceFormatCode sourceCode, TargetFormatCode targetCode,
+			Map<String, String> targetParameters) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+					e.getLocalizedMessage(), e);
+		}
+		update(digest, sourceCode.getCode());
+		update(digest, targetCode.getCode());
+		if (targetParameters != null) {
+			for (Map.Entry<String, String> entry : new TreeMap<>(targetParameters).entrySet()) {
+				update(digest, entry.getKey());
+				update(digest, String.valueOf(entry.getValue()));
+			}
+		}
+		digest.update(isoData);
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Retrieves a cached converted value.
+	 *
+	 * @param key the key created by
+	 *            {@link #createKey(byte[], SourceFormatCode, TargetFormatCode, Map)}
+	 * @return the converted value, or {@code null} if not cached. The returned
+	 *         array is shared and must not be modified.
+	 */
+	public byte[] get(String key) {
+		return cache.getIfPresent(key);
+	}
+
+	/**
+	 * Caches a converted value.
+	 *
+	 * @param key   the key created by
+	 *              {@link #createKey(byte[], SourceFormatCode, TargetFormatCode, Map)}
+	 * @param value the converted value, must not be modified afterwards
+	 */
+	public void put(String key, byte[] value) {
+		cache.put(key, value);
+	}
+
+	/**
+	 * Retrieves the hit, miss and eviction statistics.
+	 *
+	 * @return the cache statistics, {@link CacheStats#empty()} when disabled
+	 */
+	public CacheStats stats() {
+		return cache != null ? cache.stats() : CacheStats.empty();
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+}
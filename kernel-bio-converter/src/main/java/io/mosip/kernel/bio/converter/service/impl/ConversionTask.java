@@ -0,0 +1,82 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Task of the {@link ConversionExecutor} pool that can be cancelled and waited
+ * for.
+ *
+ * <p>
+ * Conversions are CPU bound and do not stop when their worker thread is
+ * interrupted, so a cancelled task may keep running. {@link #cancel()} returns
+ * only once the task can no longer run: a task that has not started yet is
+ * prevented from starting, a running one is waited for. The admission permits
+ * of a request can then be given back without under-counting the work still
+ * in flight.
+ * </p>
+ *
+ * @param <T> the type of the task result
+ * @since 1.3.0
+ */
+final class ConversionTask<T> implements Callable<T> {
+	private final Callable<T> callable;
+	private final AtomicBoolean claimed = new AtomicBoolean();
+	private final CountDownLatch finished = new CountDownLatch(1);
+	private Future<T> future;
+
+	ConversionTask(Callable<T> callable) {
+		this.callable = callable;
+	}
+
+	/**
+	 * Submits the task.
+	 *
+	 * @param submitter submits the task to the pool, e.g.
+	 *                  {@code executorService::submit}
+	 * @return the future of the task
+	 */
+	Future<T> submit(Function<Callable<T>, Future<T>> submitter) {
+		future = submitter.apply(this);
+		return future;
+	}
+
+	@Override
+	public T call() throws Exception {
+		if (!claimed.compareAndSet(false, true))
+			throw new CancellationException();
+		try {
+			return callable.call();
+		} finally {
+			finished.countDown();
+		}
+	}
+
+	/**
+	 * Cancels the task and waits until it is no longer running.
+	 */
+	void cancel() {
+		if (claimed.compareAndSet(false, true)) {
+			if (future != null)
+				future.cancel(false);
+			return;
+		}
+
+		future.cancel(true);
+		boolean interrupted = false;
+		while (true) {
+			try {
+				finished.await();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+}
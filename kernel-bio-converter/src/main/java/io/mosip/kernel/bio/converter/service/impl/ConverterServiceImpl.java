@@ -1,33 +1,55 @@
 package io.mosip.kernel.bio.converter.service.impl;
 
+import java.awt.Dimension;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
-import javax.imageio.ImageIO;
-
-import org.jnbis.api.model.Bitmap;
-import org.jnbis.internal.WsqDecoder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import io.mosip.biometrics.util.CommonUtil;
 import io.mosip.biometrics.util.ConvertRequestDto;
-import io.mosip.biometrics.util.face.FaceBDIR;
 import io.mosip.biometrics.util.face.FaceDecoder;
 import io.mosip.biometrics.util.face.ImageDataType;
-import io.mosip.biometrics.util.finger.FingerBDIR;
 import io.mosip.biometrics.util.finger.FingerDecoder;
 import io.mosip.biometrics.util.finger.FingerImageCompressionType;
 import io.mosip.biometrics.util.iris.ImageFormat;
-import io.mosip.biometrics.util.iris.IrisBDIR;
 import io.mosip.biometrics.util.iris.IrisDecoder;
 import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.constant.ParameterCode;
 import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
 import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
+import io.mosip.kernel.bio.converter.dto.ConversionErrorDto;
+import io.mosip.kernel.bio.converter.dto.ConvertResponseDto;
+import io.mosip.kernel.bio.converter.dto.SourceValue;
 import io.mosip.kernel.bio.converter.exception.ConversionException;
+import io.mosip.kernel.bio.converter.service.ConversionOptions;
 import io.mosip.kernel.bio.converter.service.IConverterApi;
+import io.mosip.kernel.bio.converter.service.impl.ConversionMetrics.Stage;
+import io.mosip.kernel.core.exception.ServiceError;
 
 /**
  * This class implements handling conversion of ISO format to JPEG or PNG Image
@@ -39,204 +61,1075 @@ import io.mosip.kernel.bio.converter.service.IConverterApi;
  */
 @Service
 public class ConverterServiceImpl implements IConverterApi {
+	private static final String REPRESENTATIONS_FIRST = "first";
+	private static final String REPRESENTATIONS_ALL = "all";
+
+	/**
+	 * Worker pool used to convert the entries of a request in parallel, may be
+	 * {@code null} for sequential conversion.
+	 */
+	private ConversionExecutor conversionExecutor;
+
+	/**
+	 * Cache of the converted values, may be {@code null} for no caching.
+	 */
+	private ConversionResultCache resultCache;
+
+	/**
+	 * Stage timings and sizes of the conversions, never {@code null}.
+	 */
+	private ConversionMetrics conversionMetrics;
+
+	/**
+	 * Decoders of the embedded images, per compression type.
+	 */
+	private ImageDecoderRegistry imageDecoders;
+
+	/**
+	 * Admission control of the conversion requests, never {@code null}.
+	 */
+	private ConversionLimiter conversionLimiter;
+
+	/**
+	 * {@code true} to check every ISO record with the biometrics-util decoder
+	 * of its modality before converting it.
+	 */
+	private boolean isoValidation;
+
+	/**
+	 * Constructs a converter that converts the entries sequentially, with the
+	 * default image decoders, no cache, no metrics and no admission control.
+	 */
+	public ConverterServiceImpl() {
+		this(null, null, null, null, null, false);
+	}
+
+	/**
+	 * Constructs a converter with all its collaborators.
+	 *
+	 * @param conversionExecutor the {@link ConversionExecutor}, {@code null} to
+	 *                           convert the entries sequentially
+	 * @param resultCache        the {@link ConversionResultCache}, {@code null}
+	 *                           for no caching
+	 * @param conversionMetrics  the {@link ConversionMetrics}, {@code null} to
+	 *                           not record metrics
+	 * @param imageDecoders      the {@link ImageDecoderRegistry}, {@code null}
+	 *                           for the default image decoders
+	 * @param conversionLimiter  the {@link ConversionLimiter}, {@code null} to
+	 *                           admit every request
+	 * @param isoValidation      {@code true} to fully decode every ISO record
+	 *                           with biometrics-util before converting it
+	 */
+	@Autowired
+	public ConverterServiceImpl(ConversionExecutor conversionExecutor, ConversionResultCache resultCache,
+			ConversionMetrics conversionMetrics, ImageDecoderRegistry imageDecoders,
+			ConversionLimiter conversionLimiter,
+			@Value("${mosip.kernel.bio.converter.iso.validation.enabled:false}") boolean isoValidation) {
+		this.conversionExecutor = conversionExecutor;
+		this.resultCache = resultCache;
+		this.conversionMetrics = conversionMetrics != null ? conversionMetrics : new ConversionMetrics(null);
+		this.imageDecoders = imageDecoders != null ? imageDecoders : new ImageDecoderRegistry();
+		this.conversionLimiter = conversionLimiter != null ? conversionLimiter : new ConversionLimiter();
+		this.isoValidation = isoValidation;
+	}
+
 	@Override
 	public Map<String, String> convert(Map<String, String> values, String sourceFormat, String targetFormat,
 			Map<String, String> sourceParameters, Map<String, String> targetParameters) throws ConversionException {
+		return IConverterApi.join(convert(toSourceValues(values), sourceFormat, targetFormat, sourceParameters,
+				targetParameters, ConversionOptions.defaults())).getValues();
+	}
+
+	/**
+	 * Checks the request on the calling thread, then takes an admission permit of
+	 * each of its modalities and converts the values, on the calling thread or on
+	 * the {@link ConversionExecutor} pool. The permits are given back once every
+	 * value is converted.
+	 */
+	@Override
+	public CompletableFuture<ConvertResponseDto> convert(Map<String, SourceValue> values, String sourceFormat,
+			String targetFormat, Map<String, String> sourceParameters, Map<String, String> targetParameters,
+			ConversionOptions options) {
+		Conversion conversion;
+		try {
+			conversion = prepare(values, sourceFormat, targetFormat, targetParameters, options);
+			conversionLimiter.acquire(conversion.modalities());
+		} catch (ConversionException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+
+		CompletableFuture<ConvertResponseDto> result;
+		try {
+			result = convertAdmitted(conversion);
+		} catch (RuntimeException e) {
+			conversionLimiter.release(conversion.modalities());
+			throw e;
+		}
+		return result.whenComplete((response, error) -> conversionLimiter.release(conversion.modalities()));
+	}
+
+	/**
+	 * Converts the values of a request whose permits are already taken, the
+	 * permits are left to the caller.
+	 */
+	private CompletableFuture<ConvertResponseDto> convertAdmitted(Conversion conversion) {
+		ConvertResponseDto response = new ConvertResponseDto();
+		response.setValues(new HashMap<>());
+		if (conversion.options().getSink() != null)
+			return convert(conversion, Function.identity(), conversion.options().getSink(), response);
+		return convert(conversion, this::encodeValue, response.getValues()::put, response);
+	}
+
+	/**
+	 * Checks the request, in the order of the original conversion: the values,
+	 * the source and target formats, then every value. In partial failure mode an
+	 * empty value is reported against its own key instead.
+	 */
+	private Conversion prepare(Map<String, SourceValue> values, String sourceFormat, String targetFormat,
+			Map<String, String> targetParameters, ConversionOptions options) throws ConversionException {
 		ConverterErrorCode errorCode = ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION;
 		if (values == null || values.size() == 0)
 			throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
 
-		Map<String, String> targetValues = new HashMap<>();
-
 		SourceFormatCode sourceCode = SourceFormatCode.fromCode(sourceFormat);
 		TargetFormatCode targetCode = TargetFormatCode.fromCode(targetFormat);
-		for (Map.Entry<String, String> entry : values.entrySet()) {
-			String targetValue = null;
-			String isoData = entry.getValue();
-			if (isoData == null || isoData.trim().length() == 0) {
-				errorCode = ConverterErrorCode.SOURCE_CAN_NOT_BE_EMPTY_OR_NULL_EXCEPTION;
-				throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
+		for (SourceValue value : values.values()) {
+			if (!options.isPartialFailure())
+				checkNotEmpty(value);
+			validateSourceCode(sourceCode);
+		}
+
+		Map<String, SourceValue> isoValues = expandRepresentations(values, sourceCode, targetCode, targetParameters);
+		if (sourceCode != SourceFormatCode.AUTO)
+			return new Conversion(isoValues, sourceCode, Map.of(), EnumSet.of(sourceCode), targetCode,
+					targetParameters, options);
+
+		Map<String, SourceFormatCode> sourceCodes = detectSourceCodes(isoValues);
+		Set<SourceFormatCode> modalities = EnumSet.noneOf(SourceFormatCode.class);
+		modalities.addAll(sourceCodes.values());
+		return new Conversion(isoValues, sourceCode, sourceCodes, modalities, targetCode, targetParameters, options);
+	}
+
+	/**
+	 * Detects the ISO format of every value of an {@link SourceFormatCode#AUTO}
+	 * request from the first bytes of its record, so that the request is admitted
+	 * once against the permits of all its modalities. A value whose format can not
+	 * be detected is left out, its conversion reports the error.
+	 */
+	private static Map<String, SourceFormatCode> detectSourceCodes(Map<String, SourceValue> values) {
+		Map<String, SourceFormatCode> sourceCodes = new HashMap<>();
+		for (Map.Entry<String, SourceValue> entry : values.entrySet()) {
+			byte[] header = entry.getValue() != null ? entry.getValue().peek(IsoRecordLayout.FORMAT_HEADER_LENGTH)
+					: null;
+			try {
+				sourceCodes.put(entry.getKey(), IsoRecordLayout.detectSourceCode(header));
+			} catch (ConversionException e) {
+				// converted with AUTO, failing on the detection
 			}
+		}
+		return sourceCodes;
+	}
 
-			switch (sourceCode) {
-			// FINGER ISO can have JP2000 or WSQ
-			case ISO19794_4_2011:
-				targetValue = convertFingerIsoToImageType(sourceCode, entry.getValue(), targetCode, targetParameters);
-				break;
-			// FACE ISO can have JP2000
-			case ISO19794_5_2011:
-				targetValue = convertFaceIsoToImageType(sourceCode, entry.getValue(), targetCode, targetParameters);
-				break;
-			// IRIS ISO can have JP2000
-			case ISO19794_6_2011:
-				targetValue = convertIrisIsoToImageType(sourceCode, entry.getValue(), targetCode, targetParameters);
-				break;
-			default:
-				errorCode = ConverterErrorCode.INVALID_SOURCE_EXCEPTION;
-				throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
+	/**
+	 * Converts the values of an admitted request and hands every result to the
+	 * consumer. Without partial failure the first failing value fails the
+	 * conversion: in completion order when the values are converted on the
+	 * calling thread, in key order when they are converted asynchronously.
+	 */
+	private <R> CompletableFuture<ConvertResponseDto> convert(Conversion conversion,
+			Function<byte[], R> resultEncoder, BiConsumer<String, R> resultConsumer, ConvertResponseDto response) {
+		if (conversion.options().isAsync())
+			return convertAsync(conversion, resultEncoder, resultConsumer, response);
+
+		try {
+			if (!conversion.options().isPartialFailure()) {
+				forEachConverted(conversion.values().keySet(),
+						key -> convertEntry(conversion, key, resultEncoder), resultConsumer);
+				return CompletableFuture.completedFuture(response);
 			}
-			targetValues.put(entry.getKey(), targetValue);
+
+			Map<String, ConversionException> errors = new TreeMap<>();
+			forEachConverted(conversion.values().keySet(),
+					key -> toOutcome(() -> convertEntry(conversion, key, resultEncoder)),
+					(key, outcome) -> collectOutcome(key, outcome, resultConsumer, errors));
+			addErrors(response, errors);
+			return CompletableFuture.completedFuture(response);
+		} catch (ConversionException e) {
+			return CompletableFuture.failedFuture(e);
 		}
-		return targetValues;
 	}
 
-	@SuppressWarnings({ "java:S1172", "java:S6208" })
-	public String convertFingerIsoToImageType(SourceFormatCode sourceCode, String isoData, TargetFormatCode targetCode,
-			Map<String, String> targetParameters) throws ConversionException {
-		ConverterErrorCode errorCode = ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION;
+	/**
+	 * Converts every value in its own task on the {@link ConversionExecutor} pool,
+	 * the results are handed to the consumer in key order once every value is
+	 * converted.
+	 */
+	private <R> CompletableFuture<ConvertResponseDto> convertAsync(Conversion conversion,
+			Function<byte[], R> resultEncoder, BiConsumer<String, R> resultConsumer, ConvertResponseDto response) {
+		Map<String, CompletableFuture<ConversionOutcome<R>>> futures = new TreeMap<>();
+		try {
+			Executor executor = getAsyncExecutor();
+			for (String key : conversion.values().keySet())
+				futures.put(key, CompletableFuture.supplyAsync(
+						() -> toOutcome(() -> convertEntry(conversion, key, resultEncoder)), executor));
+		} catch (RejectedExecutionException e) {
+			return CompletableFuture.failedFuture(new ConversionException(
+					ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(), e.getLocalizedMessage(), e));
+		}
 
-		ConvertRequestDto requestDto = new ConvertRequestDto();
-		requestDto.setModality("Finger");
-		requestDto.setVersion(sourceCode.getCode());
+		return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+				.thenApply(ignored -> {
+					Map<String, ConversionException> errors = new TreeMap<>();
+					for (Map.Entry<String, CompletableFuture<ConversionOutcome<R>>> entry : futures.entrySet()) {
+						ConversionOutcome<R> outcome = entry.getValue().join();
+						if (outcome.error() != null && !conversion.options().isPartialFailure())
+							throw outcome.error();
+						collectOutcome(entry.getKey(), outcome, resultConsumer, errors);
+					}
+					addErrors(response, errors);
+					return response;
+				});
+	}
+
+	/**
+	 * Converts one value of a request, its result encoded by the encoder.
+	 */
+	private <R> R convertEntry(Conversion conversion, String key, Function<byte[], R> resultEncoder)
+			throws ConversionException {
+		SourceFormatCode sourceCode = conversion.sourceCodes().getOrDefault(key, conversion.sourceCode());
+		TargetFormatCode targetCode = conversion.targetCode();
+		SourceValue sourceValue = conversion.values().get(key);
+		return conversionMetrics.measureConversion(sourceCode, targetCode, () -> {
+			checkNotEmpty(sourceValue);
+			byte[] isoData = decodeSourceValue(sourceValue);
+			byte[] targetValue = convertValue(sourceCode, isoData, targetCode, conversion.targetParameters());
+			R result = resultEncoder.apply(targetValue);
+			conversionMetrics.setSizes(isoData.length, targetValue.length);
+			return result;
+		});
+	}
+
+	private byte[] decodeSourceValue(SourceValue sourceValue) throws ConversionException {
+		if (!sourceValue.isEncoded())
+			return sourceValue.decode();
+
+		long start = conversionMetrics.startStage();
+		byte[] isoData = sourceValue.decode();
+		conversionMetrics.endStage(Stage.BASE64_DECODE, start);
+		return isoData;
+	}
+
+	private String encodeValue(byte[] targetValue) {
+		long start = conversionMetrics.startStage();
+		String encodedValue = CommonUtil.encodeToURLSafeBase64(targetValue);
+		conversionMetrics.endStage(Stage.BASE64_ENCODE, start);
+		return encodedValue;
+	}
+
+	private static Map<String, SourceValue> toSourceValues(Map<String, String> values) {
+		if (values == null)
+			return null;
+		Map<String, SourceValue> sourceValues = new HashMap<>();
+		for (Map.Entry<String, String> entry : values.entrySet())
+			sourceValues.put(entry.getKey(), SourceValue.ofEncoded(entry.getValue()));
+		return sourceValues;
+	}
+
+	/**
+	 * Retrieves the pool of the asynchronous conversions, the common pool when
+	 * there is no {@link ConversionExecutor}.
+	 */
+	private Executor getAsyncExecutor() {
+		return conversionExecutor != null ? conversionExecutor.getAsyncExecutorService() : ForkJoinPool.commonPool();
+	}
+
+	private void checkNotEmpty(SourceValue value) throws ConversionException {
+		if (value == null || value.isEmpty()) {
+			ConverterErrorCode errorCode = ConverterErrorCode.SOURCE_CAN_NOT_BE_EMPTY_OR_NULL_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
+		}
+	}
 
+	private static <R> void collectOutcome(String key, ConversionOutcome<R> outcome,
+			BiConsumer<String, R> resultConsumer, Map<String, ConversionException> errors) {
+		if (outcome.error() == null) {
+			resultConsumer.accept(key, outcome.value());
+		} else {
+			errors.put(key, outcome.error());
+		}
+	}
+
+	/**
+	 * Reports the errors of the failing keys, sorted by key.
+	 */
+	private static void addErrors(ConvertResponseDto response, Map<String, ConversionException> errors) {
+		for (Map.Entry<String, ConversionException> entry : errors.entrySet())
+			response.getErrors().add(new ConversionErrorDto(entry.getKey(), entry.getValue().getErrorCode(),
+					entry.getValue().getMessage()));
+	}
+
+	/**
+	 * Runs the conversion of one value of a partial failure request, its error is
+	 * kept in the outcome instead of being thrown.
+	 */
+	private static <T> ConversionOutcome<T> toOutcome(Supplier<T> conversion) {
 		try {
-			requestDto.setInputBytes(CommonUtil.decodeURLSafeBase64(isoData));
-		} catch (Exception e) {
-			errorCode = ConverterErrorCode.SOURCE_NOT_VALID_BASE64URLENCODED_EXCEPTION;
-			throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
+			return new ConversionOutcome<>(conversion.get(), null);
+		} catch (ConversionException e) {
+			return new ConversionOutcome<>(null, e);
+		} catch (RuntimeException e) {
+			return new ConversionOutcome<>(null, new ConversionException(
+					ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(), e.getLocalizedMessage(), e));
+		}
+	}
+
+	/**
+	 * Checks every item and admits the whole batch once, on the calling thread,
+	 * against the permits of all the modalities of its items. The items are then
+	 * converted on the {@link ConversionExecutor} pool when parallel conversion is
+	 * enabled, the entries of an item being converted on the worker thread of the
+	 * item, which never waits for a permit. The errors of an item are reported in
+	 * its own result.
+	 */
+	@Override
+	public List<ConvertResponseDto> convertBatch(List<io.mosip.kernel.bio.converter.dto.ConvertRequestDto> items,
+			boolean partialFailure) throws ConversionException {
+		if (items == null || items.isEmpty()) {
+			ConverterErrorCode errorCode = ConverterErrorCode.INVALID_REQUEST_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
 		}
 
-		FingerBDIR bdir;
-		int inCompressionType = -1;
-		byte[] inImageData = null;
+		ConversionOptions options = ConversionOptions.defaults().withPartialFailure(partialFailure);
+		List<ConvertResponseDto> responses = new ArrayList<>(items.size());
+		List<Conversion> conversions = new ArrayList<>(items.size());
+		Set<SourceFormatCode> modalities = EnumSet.noneOf(SourceFormatCode.class);
+		for (io.mosip.kernel.bio.converter.dto.ConvertRequestDto item : items) {
+			Conversion conversion = null;
+			try {
+				conversion = prepareItem(item, options);
+				modalities.addAll(conversion.modalities());
+			} catch (RuntimeException e) {
+				responses.add(toErrorResponse(e));
+			}
+			if (conversion != null)
+				responses.add(null);
+			conversions.add(conversion);
+		}
+
+		conversionLimiter.acquire(modalities);
 		try {
-			bdir = FingerDecoder.getFingerBDIR(requestDto);
+			convertItems(conversions, responses);
+			return responses;
+		} finally {
+			conversionLimiter.release(modalities);
+		}
+	}
 
-			inCompressionType = bdir.getCompressionType();
-			inImageData = bdir.getImage();
-		} catch (Exception e) {
-			errorCode = ConverterErrorCode.SOURCE_NOT_VALID_FINGER_ISO_FORMAT_EXCEPTION;
-			throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
+	private Conversion prepareItem(io.mosip.kernel.bio.converter.dto.ConvertRequestDto item,
+			ConversionOptions options) throws ConversionException {
+		if (item == null) {
+			ConverterErrorCode errorCode = ConverterErrorCode.INPUT_SOURCE_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
+		}
+		return prepare(toSourceValues(item.getValues()), item.getSourceFormat(), item.getTargetFormat(),
+				item.getTargetParameters(), options);
+	}
+
+	/**
+	 * Converts the checked items of an admitted batch into the result of each
+	 * item.
+	 */
+	private void convertItems(List<Conversion> conversions, List<ConvertResponseDto> responses)
+			throws ConversionException {
+		if (conversions.size() == 1 || !isParallel()) {
+			for (int index = 0; index < conversions.size(); index++) {
+				if (conversions.get(index) != null)
+					responses.set(index, convertItem(conversions.get(index)));
+			}
+			return;
 		}
 
-		BufferedImage outImage = decodeFingerImage(inImageData, inCompressionType);
-		byte[] outImageData = convertBufferedImageToBytes(targetCode, outImage);
-	    return CommonUtil.encodeToURLSafeBase64(outImageData);
+		List<ConversionTask<ConvertResponseDto>> tasks = new ArrayList<>(conversions.size());
+		List<Future<ConvertResponseDto>> futures = new ArrayList<>(conversions.size());
+		try {
+			for (Conversion conversion : conversions) {
+				if (conversion == null) {
+					futures.add(null);
+					continue;
+				}
+				ConversionTask<ConvertResponseDto> task = new ConversionTask<>(() -> convertItem(conversion));
+				tasks.add(task);
+				futures.add(task.submit(conversionExecutor.getExecutorService()::submit));
+			}
+			for (int index = 0; index < futures.size(); index++) {
+				if (futures.get(index) != null)
+					responses.set(index, futures.get(index).get());
+			}
+		} catch (ExecutionException e) {
+			throw new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+					e.getCause().getLocalizedMessage(), e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+					e.getLocalizedMessage(), e);
+		} catch (RejectedExecutionException e) {
+			throw new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+					e.getLocalizedMessage(), e);
+		} finally {
+			tasks.forEach(ConversionTask::cancel);
+		}
 	}
 
-	public BufferedImage decodeFingerImage(byte[] imageData, int compressionType) throws ConversionException {
-	    try {
-	        switch (compressionType) {
-	            case FingerImageCompressionType.JPEG_2000_LOSSY:
-	            case FingerImageCompressionType.JPEG_2000_LOSS_LESS:
-	                return ImageIO.read(new ByteArrayInputStream(imageData));
-	            case FingerImageCompressionType.WSQ:
-	                WsqDecoder decoder = new WsqDecoder();
-	                Bitmap bitmap = decoder.decode(imageData);
-	                return CommonUtil.convert(bitmap);
-	            default:
-	                throw new ConversionException(ConverterErrorCode.NOT_SUPPORTED_COMPRESSION_TYPE.getErrorCode(),
-	                		ConverterErrorCode.NOT_SUPPORTED_COMPRESSION_TYPE.getErrorMessage());
-	        }
-	    } catch (IOException | NullPointerException e) {
-	        throw new ConversionException(ConverterErrorCode.COULD_NOT_READ_ISO_IMAGE_DATA_EXCEPTION.getErrorCode(), 
-	                                      e.getLocalizedMessage());
-	    }
-	}
-
-	@SuppressWarnings({ "java:S1172" })
-	public String convertFaceIsoToImageType(SourceFormatCode sourceCode, String isoData, TargetFormatCode targetCode,
-			Map<String, String> targetParameters) throws ConversionException {
-		ConverterErrorCode errorCode = ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION;
+	private ConvertResponseDto convertItem(Conversion conversion) {
+		try {
+			return IConverterApi.join(convertAdmitted(conversion));
+		} catch (RuntimeException e) {
+			return toErrorResponse(e);
+		}
+	}
 
-		ConvertRequestDto requestDto = new ConvertRequestDto();
-		requestDto.setModality("Face");
-		requestDto.setVersion(sourceCode.getCode());
+	private static ConvertResponseDto toErrorResponse(RuntimeException e) {
+		ConvertResponseDto response = new ConvertResponseDto();
+		if (e instanceof ConversionException conversionException) {
+			response.getErrors().add(new ServiceError(conversionException.getErrorCode(), e.getMessage()));
+		} else {
+			response.getErrors()
+					.add(new ServiceError(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(), e.getMessage()));
+		}
+		return response;
+	}
+
+	/**
+	 * Checks if work is to be spread on the {@link ConversionExecutor} pool, which
+	 * is not the case from one of its own worker threads.
+	 */
+	private boolean isParallel() {
+		return conversionExecutor != null
+				&& (conversionExecutor.isParallelEnabled() || conversionExecutor.isOffloadEnabled())
+				&& !conversionExecutor.isWorkerThread();
+	}
+
+	/**
+	 * Checks if even a single entry is to be converted on the
+	 * {@link ConversionExecutor} pool rather than on the calling request thread.
+	 */
+	private boolean isOffloaded() {
+		return conversionExecutor != null && conversionExecutor.isOffloadEnabled()
+				&& !conversionExecutor.isWorkerThread();
+	}
+
+	/**
+	 * Applies the converter to every entry, on the {@link ConversionExecutor} pool
+	 * when parallel conversion or offloading is enabled, and hands each result to
+	 * the consumer on the calling thread as soon as it is available.
+	 */
+	private <R> void forEachConverted(Collection<String> keys, Function<String, R> converter,
+			BiConsumer<String, R> resultConsumer) throws ConversionException {
+		if ((keys.size() > 1 && isParallel()) || isOffloaded()) {
+			convertInParallel(keys, converter, resultConsumer);
+			return;
+		}
+
+		for (String key : keys) {
+			resultConsumer.accept(key, converter.apply(key));
+		}
+	}
+
+	/**
+	 * Converts the entries on the {@link ConversionExecutor} pool and hands the
+	 * results to the consumer in completion order. The first failing entry
+	 * cancels the remaining conversions and its {@link ConversionException} is
+	 * rethrown once none of them is running any more.
+	 */
+	private <R> void convertInParallel(Collection<String> keys, Function<String, R> converter,
+			BiConsumer<String, R> resultConsumer) throws ConversionException {
+		CompletionService<Map.Entry<String, R>> completionService = new ExecutorCompletionService<>(
+				conversionExecutor.getExecutorService());
+		List<ConversionTask<Map.Entry<String, R>>> tasks = new ArrayList<>(keys.size());
 		try {
-			requestDto.setInputBytes(CommonUtil.decodeURLSafeBase64(isoData));
-		} catch (Exception e) {
-			errorCode = ConverterErrorCode.SOURCE_NOT_VALID_BASE64URLENCODED_EXCEPTION;
-			throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
+			for (String key : keys) {
+				ConversionTask<Map.Entry<String, R>> task = new ConversionTask<>(
+						() -> new SimpleImmutableEntry<>(key, converter.apply(key)));
+				tasks.add(task);
+				task.submit(completionService::submit);
+			}
+
+			for (int index = 0; index < tasks.size(); index++) {
+				Map.Entry<String, R> result = completionService.take().get();
+				resultConsumer.accept(result.getKey(), result.getValue());
+			}
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof ConversionException conversionException)
+				throw conversionException;
+			throw new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+					e.getCause().getLocalizedMessage(), e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+					e.getLocalizedMessage(), e);
+		} catch (RejectedExecutionException e) {
+			throw new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+					e.getLocalizedMessage(), e);
+		} finally {
+			tasks.forEach(ConversionTask::cancel);
+		}
+	}
+
+	/**
+	 * Splits every record holding several representations into one record per
+	 * representation when all the representations are to be converted to images.
+	 * The keys of the split records are suffixed with the finger position or the
+	 * eye label of the representation. A suffixed key that is already taken, by a
+	 * request key or an earlier split record, is further suffixed with the
+	 * representation number, and then with the next free number; the records are
+	 * split in key order so that the keys do not depend on the map order. The
+	 * values decoded to be parsed are passed on decoded, values that can not be
+	 * decoded are kept as they are, so that their conversion reports the error.
+	 */
+	private Map<String, SourceValue> expandRepresentations(Map<String, SourceValue> values,
+			SourceFormatCode sourceCode, TargetFormatCode targetCode, Map<String, String> targetParameters)
+			throws ConversionException {
+		if (!isAllRepresentations(targetCode, targetParameters))
+			return values;
+
+		Set<String> keys = new HashSet<>(values.keySet());
+		Map<String, SourceValue> isoValues = new HashMap<>();
+		for (Map.Entry<String, SourceValue> entry : new TreeMap<>(values).entrySet()) {
+			byte[] isoData = decodeQuietly(entry.getValue());
+			IsoRecordLayout layout = parseLayout(sourceCode, isoData);
+			if (layout == null || layout.getRepresentations().size() < 2) {
+				isoValues.put(entry.getKey(), isoData != null ? SourceValue.ofBytes(isoData) : entry.getValue());
+				continue;
+			}
+			List<IsoRecordLayout.Representation> representations = layout.getRepresentations();
+			for (int index = 0; index < representations.size(); index++) {
+				IsoRecordLayout.Representation representation = representations.get(index);
+				String key = entry.getKey() + "_" + representation.getPosition();
+				for (int number = index + 1; !keys.add(key); number++)
+					key = entry.getKey() + "_" + representation.getPosition() + "_" + number;
+				isoValues.put(key, SourceValue.ofBytes(layout.extractRepresentation(representation)));
+			}
+		}
+		return isoValues;
+	}
+
+	private static byte[] decodeQuietly(SourceValue value) {
+		if (value == null)
+			return null;
+		try {
+			return value.decode();
+		} catch (ConversionException e) {
+			return null;
 		}
+	}
 
-		FaceBDIR bdir;
-		int inImageDataType = -1;
-		byte[] inImageData = null;
+	private static IsoRecordLayout parseLayout(SourceFormatCode sourceCode, byte[] isoData) {
+		if (isoData == null || isoData.length == 0)
+			return null;
 		try {
-			bdir = FaceDecoder.getFaceBDIR(requestDto);
+			return IsoRecordLayout.parse(sourceCode, isoData);
+		} catch (ConversionException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Checks if every representation of the records is to be converted to an
+	 * image, by default only the first one is.
+	 */
+	private static boolean isAllRepresentations(TargetFormatCode targetCode, Map<String, String> targetParameters)
+			throws ConversionException {
+		if (targetParameters == null
+				|| (targetCode != TargetFormatCode.IMAGE_JPEG && targetCode != TargetFormatCode.IMAGE_PNG))
+			return false;
 
-			inImageDataType = bdir.getImageDataType();
-			inImageData = bdir.getImage();
+		for (Map.Entry<String, String> entry : targetParameters.entrySet()) {
+			if (ParameterCode.fromCode(entry.getKey()) != ParameterCode.REPRESENTATIONS)
+				continue;
+			String value = entry.getValue() == null ? "" : entry.getValue().trim();
+			if (REPRESENTATIONS_ALL.equalsIgnoreCase(value))
+				return true;
+			if (REPRESENTATIONS_FIRST.equalsIgnoreCase(value))
+				return false;
+			ConverterErrorCode errorCode = ConverterErrorCode.INVALID_TARGET_PARAMETER_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage() + " "
+					+ ParameterCode.REPRESENTATIONS.getCode() + "=" + entry.getValue());
+		}
+		return false;
+	}
+
+	private void validateSourceCode(SourceFormatCode sourceCode) throws ConversionException {
+		switch (sourceCode) {
+		case ISO19794_4_2011, ISO19794_5_2011, ISO19794_6_2011, AUTO:
+			break;
+		default:
+			ConverterErrorCode errorCode = ConverterErrorCode.INVALID_SOURCE_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
+		}
+	}
+
+	/**
+	 * Converts a decoded value. With the {@link SourceFormatCode#AUTO} source
+	 * format, the ISO format is detected from the record.
+	 */
+	private byte[] convertValue(SourceFormatCode sourceCode, byte[] isoData, TargetFormatCode targetCode,
+			Map<String, String> targetParameters) throws ConversionException {
+		if (sourceCode == SourceFormatCode.AUTO)
+			sourceCode = IsoRecordLayout.detectSourceCode(isoData);
+
+		if (resultCache == null || !resultCache.isEnabled())
+			return convertIsoValue(sourceCode, isoData, targetCode, targetParameters);
+
+		String cacheKey = resultCache.createKey(isoData, sourceCode, targetCode, targetParameters);
+		byte[] targetValue = resultCache.get(cacheKey);
+		if (targetValue == null) {
+			targetValue = convertIsoValue(sourceCode, isoData, targetCode, targetParameters);
+			resultCache.put(cacheKey, targetValue);
+		}
+		return targetValue;
+	}
+
+	private byte[] convertIsoValue(SourceFormatCode sourceCode, byte[] isoData, TargetFormatCode targetCode,
+			Map<String, String> targetParameters) throws ConversionException {
+		if (targetCode != TargetFormatCode.IMAGE_JPEG && targetCode != TargetFormatCode.IMAGE_PNG)
+			return convertIsoToIsoBytes(sourceCode, isoData, targetCode, targetParameters);
+
+		switch (sourceCode) {
+		// FINGER ISO can have JP2000, WSQ, JPEG, PNG or RAW
+		case ISO19794_4_2011:
+			return convertFingerIsoToImageBytes(sourceCode, isoData, targetCode, targetParameters);
+		// FACE ISO can have JP2000 or JPEG
+		case ISO19794_5_2011:
+			return convertFaceIsoToImageBytes(sourceCode, isoData, targetCode, targetParameters);
+		// IRIS ISO can have JP2000, JPEG, PNG or RAW
+		case ISO19794_6_2011:
+			return convertIrisIsoToImageBytes(sourceCode, isoData, targetCode, targetParameters);
+		default:
+			ConverterErrorCode errorCode = ConverterErrorCode.INVALID_SOURCE_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
+		}
+	}
+
+	private byte[] decodeBase64(String isoData) throws ConversionException {
+		try {
+			return CommonUtil.decodeURLSafeBase64(isoData);
 		} catch (Exception e) {
-			errorCode = ConverterErrorCode.SOURCE_NOT_VALID_FACE_ISO_FORMAT_EXCEPTION;
+			ConverterErrorCode errorCode = ConverterErrorCode.SOURCE_NOT_VALID_BASE64URLENCODED_EXCEPTION;
 			throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
 		}
+	}
+
+	public String convertFingerIsoToImageType(SourceFormatCode sourceCode, String isoData, TargetFormatCode targetCode,
+			Map<String, String> targetParameters) throws ConversionException {
+		return CommonUtil.encodeToURLSafeBase64(
+				convertFingerIsoToImageBytes(sourceCode, decodeBase64(isoData), targetCode, targetParameters));
+	}
 
-		BufferedImage outImage = decodeFaceImage(inImageData, inImageDataType);
-	    byte[] outImageData = convertBufferedImageToBytes(targetCode, outImage);
-	    return CommonUtil.encodeToURLSafeBase64(outImageData);
+	public byte[] convertFingerIsoToImageBytes(SourceFormatCode sourceCode, byte[] isoData,
+			TargetFormatCode targetCode, Map<String, String> targetParameters) throws ConversionException {
+		return convertIsoToImageBytes(sourceCode, isoData, targetCode, targetParameters);
+	}
+
+	public BufferedImage decodeFingerImage(byte[] imageData, int compressionType) throws ConversionException {
+		return decodeFingerImage(imageData, compressionType, null);
+	}
+
+	/**
+	 * Decodes the finger image, JPEG2000 images are decoded at the coarsest
+	 * resolution level at least as large as the given size.
+	 */
+	public BufferedImage decodeFingerImage(byte[] imageData, int compressionType, Dimension minimumSize)
+			throws ConversionException {
+		return decodeImage(SourceFormatCode.ISO19794_4_2011, imageData, compressionType, minimumSize);
+	}
+
+	public String convertFaceIsoToImageType(SourceFormatCode sourceCode, String isoData, TargetFormatCode targetCode,
+			Map<String, String> targetParameters) throws ConversionException {
+		return CommonUtil.encodeToURLSafeBase64(
+				convertFaceIsoToImageBytes(sourceCode, decodeBase64(isoData), targetCode, targetParameters));
+	}
+
+	public byte[] convertFaceIsoToImageBytes(SourceFormatCode sourceCode, byte[] isoData, TargetFormatCode targetCode,
+			Map<String, String> targetParameters) throws ConversionException {
+		return convertIsoToImageBytes(sourceCode, isoData, targetCode, targetParameters);
 	}
 
 	public BufferedImage decodeFaceImage(byte[] imageData, int imageDataType) throws ConversionException {
-	    try {
-	        if (imageDataType == ImageDataType.JPEG2000_LOSSY || imageDataType == ImageDataType.JPEG2000_LOSS_LESS) {
-	            return ImageIO.read(new ByteArrayInputStream(imageData));
-	        } else {
-	            throw new ConversionException(ConverterErrorCode.NOT_SUPPORTED_COMPRESSION_TYPE.getErrorCode(),
-	            		ConverterErrorCode.NOT_SUPPORTED_COMPRESSION_TYPE.getErrorMessage());
-	        }
-	    } catch (IOException | NullPointerException e) {
-	        throw new ConversionException(ConverterErrorCode.COULD_NOT_READ_ISO_IMAGE_DATA_EXCEPTION.getErrorCode(), 
-	                                      e.getLocalizedMessage());
-	    }
+		return decodeFaceImage(imageData, imageDataType, null);
+	}
+
+	/**
+	 * Decodes the face image, JPEG2000 images are decoded at the coarsest
+	 * resolution level at least as large as the given size.
+	 */
+	public BufferedImage decodeFaceImage(byte[] imageData, int imageDataType, Dimension minimumSize)
+			throws ConversionException {
+		return decodeImage(SourceFormatCode.ISO19794_5_2011, imageData, imageDataType, minimumSize);
 	}
 	
-	@SuppressWarnings({ "java:S1172" })
 	public String convertIrisIsoToImageType(SourceFormatCode sourceCode, String isoData, TargetFormatCode targetCode,
 			Map<String, String> targetParameters) throws ConversionException {
-		ConverterErrorCode errorCode = ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION;
+		return CommonUtil.encodeToURLSafeBase64(
+				convertIrisIsoToImageBytes(sourceCode, decodeBase64(isoData), targetCode, targetParameters));
+	}
 
+	public byte[] convertIrisIsoToImageBytes(SourceFormatCode sourceCode, byte[] isoData, TargetFormatCode targetCode,
+			Map<String, String> targetParameters) throws ConversionException {
+		return convertIsoToImageBytes(sourceCode, isoData, targetCode, targetParameters);
+	}
+
+	/**
+	 * Converts the image of the first representation of the ISO record. The
+	 * record headers are walked in place with the {@link IsoRecordLayout} and the
+	 * image is decoded straight from the record bytes, no image data is copied
+	 * out of the record. The face and iris records do not carry the capture
+	 * resolution, dpi is ignored for them.
+	 */
+	private byte[] convertIsoToImageBytes(SourceFormatCode sourceCode, byte[] isoData, TargetFormatCode targetCode,
+			Map<String, String> targetParameters) throws ConversionException {
+		ImageResizer resizer = ImageResizer.fromParameters(targetParameters);
+		ImageEncoder encoder = ImageEncoder.fromParameters(targetParameters);
+
+		long start = conversionMetrics.startStage();
+		IsoRecordLayout.Representation representation;
+		try {
+			if (isoValidation)
+				validateIsoRecord(sourceCode, isoData);
+			representation = IsoRecordLayout.parse(sourceCode, isoData).getRepresentations().get(0);
+			conversionMetrics.setCompression(sourceCode, representation.getImageType());
+		} finally {
+			conversionMetrics.endStage(Stage.ISO_PARSE, start);
+		}
+
+		if (isPassthrough(resizer, encoder, sourceCode, representation.getImageType(), targetCode))
+			return Arrays.copyOfRange(isoData, representation.getImageOffset(),
+					representation.getImageOffset() + representation.getImageLength());
+		Dimension targetSize = resizer.getTargetSize(representation);
+		BufferedImage outImage = resizeImage(resizer,
+				decodeRepresentationImage(sourceCode, isoData, representation, targetSize), targetSize);
+		return convertBufferedImageToBytes(targetCode, outImage, encoder);
+	}
+
+	/**
+	 * Decodes the record with the biometrics-util decoder of its modality, which
+	 * checks every header field and block of the record.
+	 */
+	private void validateIsoRecord(SourceFormatCode sourceCode, byte[] isoData) throws ConversionException {
 		ConvertRequestDto requestDto = new ConvertRequestDto();
-		requestDto.setModality("Iris");
 		requestDto.setVersion(sourceCode.getCode());
+		requestDto.setInputBytes(isoData);
+		ConverterErrorCode errorCode;
+		switch (sourceCode) {
+		case ISO19794_4_2011:
+			requestDto.setModality("Finger");
+			errorCode = ConverterErrorCode.SOURCE_NOT_VALID_FINGER_ISO_FORMAT_EXCEPTION;
+			break;
+		case ISO19794_5_2011:
+			requestDto.setModality("Face");
+			errorCode = ConverterErrorCode.SOURCE_NOT_VALID_FACE_ISO_FORMAT_EXCEPTION;
+			break;
+		default:
+			requestDto.setModality("Iris");
+			errorCode = ConverterErrorCode.SOURCE_NOT_VALID_IRIS_ISO_FORMAT_EXCEPTION;
+			break;
+		}
+
 		try {
-			requestDto.setInputBytes(CommonUtil.decodeURLSafeBase64(isoData));
+			switch (sourceCode) {
+			case ISO19794_4_2011:
+				FingerDecoder.getFingerBDIR(requestDto);
+				break;
+			case ISO19794_5_2011:
+				FaceDecoder.getFaceBDIR(requestDto);
+				break;
+			default:
+				IrisDecoder.getIrisBDIR(requestDto);
+				break;
+			}
 		} catch (Exception e) {
-			errorCode = ConverterErrorCode.SOURCE_NOT_VALID_BASE64URLENCODED_EXCEPTION;
 			throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
 		}
+	}
+
+	public BufferedImage decodeIrisImage(byte[] imageData, int imageFormat) throws ConversionException {
+		return decodeIrisImage(imageData, imageFormat, null);
+	}
+
+	/**
+	 * Decodes the iris image, JPEG2000 images are decoded at the coarsest
+	 * resolution level at least as large as the given size.
+	 */
+	public BufferedImage decodeIrisImage(byte[] imageData, int imageFormat, Dimension minimumSize)
+			throws ConversionException {
+		return decodeImage(SourceFormatCode.ISO19794_6_2011, imageData, imageFormat, minimumSize);
+	}
+	
+	/**
+	 * Re-encodes the image of every representation of the ISO record to the
+	 * image format of the ISO target format. Only the image data block, the
+	 * image compression type and the record and representation lengths are
+	 * rewritten, the rest of the record is kept as it is. When a finger image is
+	 * resized, the image size and sampling rate fields follow. Face and iris
+	 * records hold pixel coordinates (landmark points, iris center and diameter)
+	 * that would no longer match a resized image, so they can not be resized. An
+	 * image already in the target image format is kept as it is unless a resize
+	 * or an encode parameter is requested.
+	 *
+	 * @throws ConversionException if a resize of a face or iris record is
+	 *                             requested
+	 */
+	public byte[] convertIsoToIsoBytes(SourceFormatCode sourceCode, byte[] isoData, TargetFormatCode targetCode,
+			Map<String, String> targetParameters) throws ConversionException {
+		int outImageType = getIsoImageType(sourceCode, targetCode);
+		ImageResizer resizer = ImageResizer.fromParameters(targetParameters);
+		if (resizer.isResizeRequested() && sourceCode != SourceFormatCode.ISO19794_4_2011) {
+			ConverterErrorCode errorCode = ConverterErrorCode.INVALID_TARGET_PARAMETER_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage()
+					+ " width, height and dpi are not supported for " + targetCode.getCode());
+		}
+		ImageEncoder encoder = ImageEncoder.fromParameters(targetParameters);
+		TargetFormatCode imageTargetCode = getImageTargetCode(targetCode);
+
+		long start = conversionMetrics.startStage();
+		List<IsoRecordLayout.Representation> representations = IsoRecordLayout.parse(sourceCode, isoData)
+				.getRepresentations();
+		conversionMetrics.endStage(Stage.ISO_PARSE, start);
+		if (!representations.isEmpty())
+			conversionMetrics.setCompression(sourceCode, representations.get(0).getImageType());
+		byte[] outData = isoData;
+		// last representation first, so that the offsets of the others stay valid
+		for (int index = representations.size() - 1; index >= 0; index--) {
+			IsoRecordLayout.Representation representation = representations.get(index);
+			if (isPassthrough(resizer, encoder, sourceCode, representation.getImageType(), imageTargetCode))
+				continue;
+			Dimension targetSize = resizer.getTargetSize(representation);
+			BufferedImage outImage = resizeImage(resizer,
+					decodeRepresentationImage(sourceCode, isoData, representation, targetSize), targetSize);
+			byte[] outImageData = convertBufferedImageToBytes(imageTargetCode, outImage, encoder);
+			outData = IsoRecordLayout.replaceImage(outData, representation, outImageData, outImageType,
+					outImage.getWidth(), outImage.getHeight());
+		}
+		return outData;
+	}
 
-		int inImageFormat = -1;
-		byte[] inImageData = null;
-		IrisBDIR bdir;
+	/**
+	 * Decodes the image with the {@link ImageDecoderRegistry} decoder of its
+	 * compression type.
+	 */
+	private BufferedImage decodeImage(SourceFormatCode sourceCode, byte[] imageData, int imageType,
+			Dimension minimumSize) throws ConversionException {
+		return decodeImage(sourceCode, imageData, 0, imageData != null ? imageData.length : 0, imageType,
+				minimumSize);
+	}
+
+	/**
+	 * Decodes the image embedded at an offset of an array with the
+	 * {@link ImageDecoderRegistry} decoder of its compression type.
+	 */
+	private BufferedImage decodeImage(SourceFormatCode sourceCode, byte[] data, int offset, int length,
+			int imageType, Dimension minimumSize) throws ConversionException {
+		IImageDecoder decoder = imageDecoders.getDecoder(sourceCode, imageType);
+		if (decoder == null)
+			throw new ConversionException(ConverterErrorCode.NOT_SUPPORTED_COMPRESSION_TYPE.getErrorCode(),
+					ConverterErrorCode.NOT_SUPPORTED_COMPRESSION_TYPE.getErrorMessage());
+
+		long start = conversionMetrics.startStage();
 		try {
-			bdir = IrisDecoder.getIrisBDIR(requestDto);
+			if (data == null)
+				return decoder.decode(null, minimumSize);
+			return decoder.decode(data, offset, length, minimumSize);
+		} catch (IOException | NullPointerException e) {
+			throw new ConversionException(ConverterErrorCode.COULD_NOT_READ_ISO_IMAGE_DATA_EXCEPTION.getErrorCode(),
+					e.getLocalizedMessage());
+		} finally {
+			conversionMetrics.endStage(Stage.IMAGE_DECODE, start);
+		}
+	}
 
-			inImageFormat = bdir.getImageFormat();
-			inImageData = bdir.getImage();
-		} catch (Exception e) {
-			errorCode = ConverterErrorCode.SOURCE_NOT_VALID_IRIS_ISO_FORMAT_EXCEPTION;
-			throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
+	/**
+	 * Checks if the embedded image can be returned as it is, without decoding and
+	 * encoding it again: it is already in the target image format and neither a
+	 * resize nor an encode parameter of that format is requested.
+	 */
+	private static boolean isPassthrough(ImageResizer resizer, ImageEncoder encoder, SourceFormatCode sourceCode,
+			int imageType, TargetFormatCode targetCode) {
+		TargetFormatCode embeddedCode = getEmbeddedImageCode(sourceCode, imageType);
+		if (embeddedCode == null || embeddedCode != targetCode || resizer.isResizeRequested())
+			return false;
+		return encoder.isDefault(embeddedCode == TargetFormatCode.IMAGE_JPEG ? ImageCodecPool.JPEG : ImageCodecPool.PNG);
+	}
+
+	/**
+	 * Retrieves the image format of an embedded JPEG or PNG image.
+	 *
+	 * @return {@code IMAGE/JPEG}, {@code IMAGE/PNG} or {@code null} for the other
+	 *         compression types
+	 */
+	private static TargetFormatCode getEmbeddedImageCode(SourceFormatCode sourceCode, int imageType) {
+		switch (sourceCode) {
+		case ISO19794_4_2011:
+			if (imageType == FingerImageCompressionType.JPEG_LOSSY)
+				return TargetFormatCode.IMAGE_JPEG;
+			if (imageType == FingerImageCompressionType.PNG)
+				return TargetFormatCode.IMAGE_PNG;
+			break;
+		case ISO19794_5_2011:
+			// face PNG images are not supported, they are rejected by the decode stage
+			if (imageType == ImageDataType.JPEG)
+				return TargetFormatCode.IMAGE_JPEG;
+			break;
+		case ISO19794_6_2011:
+			if (imageType == ImageFormat.MONO_JPEG)
+				return TargetFormatCode.IMAGE_JPEG;
+			if (imageType == ImageFormat.MONO_PNG)
+				return TargetFormatCode.IMAGE_PNG;
+			break;
+		default:
+			break;
+		}
+		return null;
+	}
+
+	/**
+	 * Decodes the image of a representation in place in the record bytes, with
+	 * the {@link RawImageDecoder} for uncompressed images or the
+	 * {@link ImageDecoderRegistry} decoder of its compression type.
+	 */
+	private BufferedImage decodeRepresentationImage(SourceFormatCode sourceCode, byte[] isoData,
+			IsoRecordLayout.Representation representation, Dimension minimumSize) throws ConversionException {
+		if (isRawImage(sourceCode, representation.getImageType()))
+			return decodeRawImage(sourceCode, isoData, representation);
+		return decodeImage(sourceCode, isoData, representation.getImageOffset(), representation.getImageLength(),
+				representation.getImageType(), minimumSize);
+	}
+
+	/**
+	 * Decodes the uncompressed image of a representation with the
+	 * {@link RawImageDecoder}, 8 bit images are wrapped without copying them.
+	 */
+	private BufferedImage decodeRawImage(SourceFormatCode sourceCode, byte[] isoData,
+			IsoRecordLayout.Representation representation) throws ConversionException {
+		long start = conversionMetrics.startStage();
+		try {
+			return RawImageDecoder.decode(isoData, representation, sourceCode == SourceFormatCode.ISO19794_4_2011
+					&& representation.getImageType() == FingerImageCompressionType.NONE_BIT_PACKED);
+		} catch (IOException e) {
+			throw new ConversionException(ConverterErrorCode.COULD_NOT_READ_ISO_IMAGE_DATA_EXCEPTION.getErrorCode(),
+					e.getLocalizedMessage());
+		} finally {
+			conversionMetrics.endStage(Stage.IMAGE_DECODE, start);
 		}
+	}
 
-		BufferedImage outImage = decodeIrisImage(inImageData, inImageFormat);
-	    byte[] outImageData = convertBufferedImageToBytes(targetCode, outImage);
-	    return CommonUtil.encodeToURLSafeBase64(outImageData);
+	private static boolean isRawImage(SourceFormatCode sourceCode, int imageType) {
+		switch (sourceCode) {
+		case ISO19794_4_2011:
+			return imageType == FingerImageCompressionType.NONE_NO_BIT_PACKING
+					|| imageType == FingerImageCompressionType.NONE_BIT_PACKED;
+		case ISO19794_6_2011:
+			return imageType == ImageFormat.MONO_RAW;
+		default:
+			return false;
+		}
 	}
 
-	public BufferedImage decodeIrisImage(byte[] imageData, int imageFormat) throws ConversionException {
-	    try {
-	        if (imageFormat == ImageFormat.MONO_JPEG2000) {
-	            return ImageIO.read(new ByteArrayInputStream(imageData));
-	        } else {
-	            throw new ConversionException(ConverterErrorCode.NOT_SUPPORTED_COMPRESSION_TYPE.getErrorCode(),
-	            		ConverterErrorCode.NOT_SUPPORTED_COMPRESSION_TYPE.getErrorMessage());
-	        }
-	    } catch (IOException | NullPointerException e) {
-	        throw new ConversionException(ConverterErrorCode.COULD_NOT_READ_ISO_IMAGE_DATA_EXCEPTION.getErrorCode(),
-	                                      e.getLocalizedMessage());
-	    }
+	private BufferedImage resizeImage(ImageResizer resizer, BufferedImage image, Dimension targetSize) {
+		long start = conversionMetrics.startStage();
+		try {
+			return resizer.resize(image, targetSize);
+		} finally {
+			conversionMetrics.endStage(Stage.RESIZE, start);
+		}
 	}
-	
+
+	private int getIsoImageType(SourceFormatCode sourceCode, TargetFormatCode targetCode) throws ConversionException {
+		switch (targetCode) {
+		case ISO19794_4_2011_JPEG:
+			if (sourceCode == SourceFormatCode.ISO19794_4_2011)
+				return FingerImageCompressionType.JPEG_LOSSY;
+			break;
+		case ISO19794_4_2011_PNG:
+			if (sourceCode == SourceFormatCode.ISO19794_4_2011)
+				return FingerImageCompressionType.PNG;
+			break;
+		case ISO19794_5_2011_JPEG:
+			if (sourceCode == SourceFormatCode.ISO19794_5_2011)
+				return ImageDataType.JPEG;
+			break;
+		case ISO19794_5_2011_PNG:
+			if (sourceCode == SourceFormatCode.ISO19794_5_2011)
+				return ImageDataType.PNG;
+			break;
+		case ISO19794_6_2011_PNG:
+			if (sourceCode == SourceFormatCode.ISO19794_6_2011)
+				return ImageFormat.MONO_PNG;
+			break;
+		default:
+			break;
+		}
+		throw new ConversionException(ConverterErrorCode.TARGET_FORMAT_EXCEPTION.getErrorCode(), "Target Format("
+				+ targetCode.getCode() + ") Not Supported For the Given Source Format(" + sourceCode.getCode() + ")");
+	}
+
+	private TargetFormatCode getImageTargetCode(TargetFormatCode targetCode) {
+		switch (targetCode) {
+		case ISO19794_4_2011_JPEG, ISO19794_5_2011_JPEG:
+			return TargetFormatCode.IMAGE_JPEG;
+		case ISO19794_4_2011_PNG, ISO19794_5_2011_PNG, ISO19794_6_2011_PNG:
+			return TargetFormatCode.IMAGE_PNG;
+		default:
+			return targetCode;
+		}
+	}
+
 	public byte[] convertBufferedImageToBytes(TargetFormatCode targetCode, BufferedImage outImage) {
+		return convertBufferedImageToBytes(targetCode, outImage, ImageEncoder.defaults());
+	}
+
+	/**
+	 * Encodes the image to the target image format with the encode parameters of
+	 * the request.
+	 */
+	public byte[] convertBufferedImageToBytes(TargetFormatCode targetCode, BufferedImage outImage,
+			ImageEncoder encoder) {
+		String formatName;
 		switch (targetCode) {
 		case IMAGE_JPEG:
-			return CommonUtil.convertBufferedImageToJPEGBytes(outImage);
+			formatName = ImageCodecPool.JPEG;
+			break;
 		case IMAGE_PNG:
-			return CommonUtil.convertBufferedImageToPNGBytes(outImage);
+			formatName = ImageCodecPool.PNG;
+			break;
 		default:
 			throw new ConversionException(ConverterErrorCode.INVALID_TARGET_EXCEPTION.getErrorCode(),
 					ConverterErrorCode.INVALID_TARGET_EXCEPTION.getErrorMessage());
 		}
+
+		long start = conversionMetrics.startStage();
+		try {
+			return encoder.encode(formatName, outImage);
+		} catch (IOException e) {
+			throw new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+					e.getLocalizedMessage(), e);
+		} finally {
+			conversionMetrics.endStage(Stage.IMAGE_ENCODE, start);
+		}
+	}
+
+	/**
+	 * Converted value or error of one entry in partial failure mode.
+	 */
+	private record ConversionOutcome<T>(T value, ConversionException error) {
+	}
+
+	/**
+	 * Checked conversion request, its values split per representation when all
+	 * the representations are to be converted. The ISO formats detected for the
+	 * values of an {@link SourceFormatCode#AUTO} request are kept per key, and
+	 * the request is admitted against the permits of all its modalities.
+	 */
+	private record Conversion(Map<String, SourceValue> values, SourceFormatCode sourceCode,
+			Map<String, SourceFormatCode> sourceCodes, Set<SourceFormatCode> modalities, TargetFormatCode targetCode,
+			Map<String, String> targetParameters, ConversionOptions options) {
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Decoder of the image data embedded in an ISO biometric record.
+ *
+ * <p>
+ * Decoders are registered in the {@link ImageDecoderRegistry} against the
+ * compression type of the record ({@code FingerImageCompressionType}, face
+ * {@code ImageDataType} or iris {@code ImageFormat}).
+ * </p>
+ *
+ * @since 1.3.0
+ */
+public interface IImageDecoder {
+	/**
+	 * Decodes an image.
+	 *
+	 * @param imageData   the encoded image
+	 * @param minimumSize the smallest size the decoded image may have, so that
+	 *                    multi-resolution images can be decoded at a reduced
+	 *                    resolution, {@code null} to decode at full resolution
+	 * @return the decoded image, {@code null} if the decoder can not read it
+	 * @throws IOException if the image can not be decoded
+	 */
+	BufferedImage decode(byte[] imageData, Dimension minimumSize) throws IOException;
+
+	/**
+	 * Decodes an image embedded at an offset of an array, e.g. the image data
+	 * block of an ISO record. By default the image is copied out of the array,
+	 * decoders that can read it in place override this method.
+	 *
+	 * @param data        the array holding the encoded image
+	 * @param offset      the offset of the encoded image in the array
+	 * @param length      the length of the encoded image
+	 * @param minimumSize the smallest size the decoded image may have,
+	 *                    {@code null} to decode at full resolution
+	 * @return the decoded image, {@code null} if the decoder can not read it
+	 * @throws IOException if the image can not be decoded
+	 */
+	default BufferedImage decode(byte[] data, int offset, int length, Dimension minimumSize) throws IOException {
+		if (offset == 0 && length == data.length)
+			return decode(data, minimumSize);
+		return decode(Arrays.copyOfRange(data, offset, offset + length), minimumSize);
+	}
+}
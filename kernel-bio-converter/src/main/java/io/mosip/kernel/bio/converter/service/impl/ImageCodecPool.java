@@ -0,0 +1,248 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+/**
+ * Shared pool of {@link ImageReader} and {@link ImageWriter} instances.
+ *
+ * <p>
+ * {@code ImageIO.read} and {@code ImageIO.write} look the reader or writer up
+ * in the service registry and create a new instance and a new image stream on
+ * every call. Here the idle readers and writers of each format are kept in a
+ * pool shared by all threads, so that request and virtual threads reuse them as
+ * well, and the image streams are in-memory streams. The pool keeps at most
+ * one idle reader and one idle writer per format and available processor, the
+ * others are disposed when given back. The input of a reader is cleared when
+ * it is given back, so that an idle reader does not hold on to the last image
+ * and its decoding state. A reader whose input can not be cleared is disposed
+ * instead: the JPEG2000 reader of jai-imageio fails to clear its input and
+ * keeps its read state, so JPEG2000 readers are not pooled, only writers. The
+ * ImageIO disk cache is disabled as soon as the class is loaded.
+ * </p>
+ *
+ * @since 1.3.0
+ */
+public final class ImageCodecPool {
+	public static final String JPEG2000 = "jpeg2000";
+	public static final String JPEG = "jpeg";
+	public static final String PNG = "png";
+
+	private static final int MAX_IDLE = Runtime.getRuntime().availableProcessors();
+
+	private static final Map<String, BlockingQueue<ImageReader>> READERS = new ConcurrentHashMap<>();
+	private static final Map<String, BlockingQueue<ImageWriter>> WRITERS = new ConcurrentHashMap<>();
+
+	static {
+		ImageIO.setUseCache(false);
+	}
+
+	private ImageCodecPool() {
+	}
+
+	/**
+	 * Decodes an image with the reader of the given format.
+	 *
+	 * @param formatName the informal format name, e.g. {@value #JPEG2000}
+	 * @param imageData  the encoded image
+	 * @return the decoded image, {@code null} if no reader can decode it
+	 * @throws IOException if the image can not be decoded
+	 */
+	public static BufferedImage read(String formatName, byte[] imageData) throws IOException {
+		return read(formatName, imageData, null);
+	}
+
+	/**
+	 * Decodes an image with the reader of the given format.
+	 *
+	 * @param formatName      the informal format name, e.g. {@value #JPEG2000}
+	 * @param imageData       the encoded image
+	 * @param paramConfigurer sets up the default read param of the reader, may be
+	 *                        {@code null}
+	 * @return the decoded image, {@code null} if no reader can decode it
+	 * @throws IOException if the image can not be decoded
+	 */
+	public static BufferedImage read(String formatName, byte[] imageData, Consumer<ImageReadParam> paramConfigurer)
+			throws IOException {
+		return read(formatName, imageData, 0, imageData.length, paramConfigurer);
+	}
+
+	/**
+	 * Decodes an image embedded at an offset of an array with the reader of the
+	 * given format, the image is read in place.
+	 *
+	 * @param formatName      the informal format name, e.g. {@value #JPEG2000}
+	 * @param data            the array holding the encoded image
+	 * @param offset          the offset of the encoded image in the array
+	 * @param length          the length of the encoded image
+	 * @param paramConfigurer sets up the default read param of the reader, may be
+	 *                        {@code null}
+	 * @return the decoded image, {@code null} if no reader can decode it
+	 * @throws IOException if the image can not be decoded
+	 */
+	public static BufferedImage read(String formatName, byte[] data, int offset, int length,
+			Consumer<ImageReadParam> paramConfigurer) throws IOException {
+		ImageReader reader = acquireReader(formatName);
+		if (reader == null)
+			return ImageIO.read(new ByteArrayInputStream(data, offset, length));
+
+		boolean reusable = false;
+		try (ImageInputStream inputStream = new MemoryCacheImageInputStream(
+				new ByteArrayInputStream(data, offset, length))) {
+			reader.setInput(inputStream, true, true);
+			ImageReadParam param = reader.getDefaultReadParam();
+			if (paramConfigurer != null)
+				paramConfigurer.accept(param);
+			BufferedImage image = reader.read(0, param);
+			reusable = true;
+			return image;
+		} finally {
+			if (reusable)
+				reusable = clearInput(reader);
+			if (!reusable || !idle(READERS, formatName).offer(reader))
+				reader.dispose();
+		}
+	}
+
+	/**
+	 * Encodes an image with the writer of the given format.
+	 *
+	 * @param formatName the informal format name, e.g. {@value #JPEG}
+	 * @param image      the image
+	 * @return the encoded image
+	 * @throws IOException if the image can not be encoded
+	 */
+	public static byte[] write(String formatName, BufferedImage image) throws IOException {
+		return write(formatName, image, null);
+	}
+
+	/**
+	 * Encodes an image with the writer of the given format.
+	 *
+	 * @param formatName      the informal format name, e.g. {@value #JPEG}
+	 * @param image           the image
+	 * @param paramConfigurer sets up the default write param of the writer, may
+	 *                        be {@code null}
+	 * @return the encoded image
+	 * @throws IOException if the image can not be encoded
+	 */
+	public static byte[] write(String formatName, BufferedImage image, Consumer<ImageWriteParam> paramConfigurer)
+			throws IOException {
+		return write(formatName, image, paramConfigurer, null);
+	}
+
+	/**
+	 * Encodes an image with the writer of the given format.
+	 *
+	 * @param formatName         the informal format name, e.g. {@value #JPEG}
+	 * @param image              the image
+	 * @param paramConfigurer    sets up the default write param of the writer,
+	 *                           may be {@code null}
+	 * @param metadataConfigurer edits the default image metadata of the writer
+	 *                           for the image, may be {@code null} to write the
+	 *                           default metadata
+	 * @return the encoded image
+	 * @throws IOException if the image can not be encoded
+	 */
+	public static byte[] write(String formatName, BufferedImage image, Consumer<ImageWriteParam> paramConfigurer,
+			MetadataConfigurer metadataConfigurer) throws IOException {
+		ImageWriter writer = acquireWriter(formatName);
+		if (writer == null)
+			throw new IOException("No image writer for format " + formatName);
+
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		boolean reusable = false;
+		try (ImageOutputStream imageOutputStream = new MemoryCacheImageOutputStream(outputStream)) {
+			writer.setOutput(imageOutputStream);
+			ImageWriteParam param = writer.getDefaultWriteParam();
+			if (paramConfigurer != null)
+				paramConfigurer.accept(param);
+			IIOMetadata metadata = null;
+			if (metadataConfigurer != null) {
+				metadata = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(image), param);
+				metadataConfigurer.configure(metadata);
+			}
+			writer.write(null, new IIOImage(image, null, metadata), param);
+			reusable = true;
+		} finally {
+			if (reusable)
+				writer.reset();
+			if (!reusable || !idle(WRITERS, formatName).offer(writer))
+				writer.dispose();
+		}
+		return outputStream.toByteArray();
+	}
+
+	/**
+	 * Edits the image metadata written with an image.
+	 */
+	@FunctionalInterface
+	public interface MetadataConfigurer {
+		/**
+		 * Edits the metadata in place.
+		 *
+		 * @param metadata the default image metadata of the writer
+		 * @throws IOException if the metadata can not be edited
+		 */
+		void configure(IIOMetadata metadata) throws IOException;
+	}
+
+	/**
+	 * Takes an idle reader out of the pool, so that no other call shares it, or
+	 * creates a new one.
+	 */
+	private static ImageReader acquireReader(String formatName) {
+		ImageReader reader = idle(READERS, formatName).poll();
+		if (reader != null)
+			return reader;
+		Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName(formatName);
+		return readers.hasNext() ? readers.next() : null;
+	}
+
+	/**
+	 * Clears the input of a reader given back to the pool.
+	 *
+	 * @return {@code true} if the input is cleared and the reader can be reused
+	 */
+	private static boolean clearInput(ImageReader reader) {
+		try {
+			reader.setInput(null);
+			return true;
+		} catch (RuntimeException e) {
+			return false;
+		}
+	}
+
+	private static ImageWriter acquireWriter(String formatName) {
+		ImageWriter writer = idle(WRITERS, formatName).poll();
+		if (writer != null)
+			return writer;
+		Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(formatName);
+		return writers.hasNext() ? writers.next() : null;
+	}
+
+	private static <T> BlockingQueue<T> idle(Map<String, BlockingQueue<T>> pool, String formatName) {
+		return pool.computeIfAbsent(formatName, name -> new ArrayBlockingQueue<>(MAX_IDLE));
+	}
+}
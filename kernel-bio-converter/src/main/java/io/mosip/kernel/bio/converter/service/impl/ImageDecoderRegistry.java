@@ -0,0 +1,77 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import io.mosip.biometrics.util.face.ImageDataType;
+import io.mosip.biometrics.util.finger.FingerImageCompressionType;
+import io.mosip.biometrics.util.iris.ImageFormat;
+import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
+
+/**
+ * Registry of the {@link IImageDecoder} of every supported image compression
+ * type, per ISO source format.
+ *
+ * <p>
+ * WSQ finger images are decoded with jnbis, JPEG2000 images with the
+ * jai-imageio-jpeg2000 plugin and JPEG and PNG images with the JDK ImageIO
+ * readers.
+ * </p>
+ *
+ * @since 1.3.0
+ */
+@Component
+public class ImageDecoderRegistry {
+	private final Map<SourceFormatCode, Map<Integer, IImageDecoder>> decoders = new EnumMap<>(
+			SourceFormatCode.class);
+
+	/**
+	 * Constructs a registry with the default decoders.
+	 */
+	public ImageDecoderRegistry() {
+		IImageDecoder jpeg2000Decoder = new ImageIoJpeg2000Decoder();
+		register(SourceFormatCode.ISO19794_4_2011, FingerImageCompressionType.WSQ, new WsqImageDecoder());
+		register(SourceFormatCode.ISO19794_4_2011, FingerImageCompressionType.JPEG_2000_LOSSY, jpeg2000Decoder);
+		register(SourceFormatCode.ISO19794_4_2011, FingerImageCompressionType.JPEG_2000_LOSS_LESS, jpeg2000Decoder);
+		register(SourceFormatCode.ISO19794_5_2011, ImageDataType.JPEG2000_LOSSY, jpeg2000Decoder);
+		register(SourceFormatCode.ISO19794_5_2011, ImageDataType.JPEG2000_LOSS_LESS, jpeg2000Decoder);
+		register(SourceFormatCode.ISO19794_6_2011, ImageFormat.MONO_JPEG2000, jpeg2000Decoder);
+
+		IImageDecoder jpegDecoder = new ImageIoImageDecoder(ImageCodecPool.JPEG);
+		IImageDecoder pngDecoder = new ImageIoImageDecoder(ImageCodecPool.PNG);
+		register(SourceFormatCode.ISO19794_4_2011, FingerImageCompressionType.JPEG_LOSSY, jpegDecoder);
+		register(SourceFormatCode.ISO19794_4_2011, FingerImageCompressionType.PNG, pngDecoder);
+		register(SourceFormatCode.ISO19794_5_2011, ImageDataType.JPEG, jpegDecoder);
+		register(SourceFormatCode.ISO19794_6_2011, ImageFormat.MONO_JPEG, jpegDecoder);
+		register(SourceFormatCode.ISO19794_6_2011, ImageFormat.MONO_PNG, pngDecoder);
+	}
+
+	/**
+	 * Registers the decoder of an image compression type, replacing the current
+	 * one.
+	 *
+	 * @param sourceCode the ISO source format
+	 * @param imageType  the finger image compression type, the face image data
+	 *                   type or the iris image format
+	 * @param decoder    the decoder
+	 */
+	public void register(SourceFormatCode sourceCode, int imageType, IImageDecoder decoder) {
+		decoders.computeIfAbsent(sourceCode, code -> new HashMap<>()).put(imageType, decoder);
+	}
+
+	/**
+	 * Retrieves the decoder of an image compression type.
+	 *
+	 * @param sourceCode the ISO source format
+	 * @param imageType  the finger image compression type, the face image data
+	 *                   type or the iris image format
+	 * @return the decoder, {@code null} if the compression type is not supported
+	 */
+	public IImageDecoder getDecoder(SourceFormatCode sourceCode, int imageType) {
+		Map<Integer, IImageDecoder> formatDecoders = decoders.get(sourceCode);
+		return formatDecoders != null ? formatDecoders.get(imageType) : null;
+	}
+}
@@ -0,0 +1,251 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.imageio.ImageWriteParam;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.plugins.jpeg.JPEGImageWriteParam;
+
+import org.w3c.dom.NodeList;
+
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.constant.ParameterCode;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+
+/**
+ * Encode stage producing the target image.
+ *
+ * <p>
+ * The {@code quality}, {@code progressive}, {@code optimizeHuffman},
+ * {@code chromaSubsampling} and {@code compressionLevel} target parameters are
+ * honoured:
+ * <ul>
+ * <li>{@code quality} sets the JPEG quality, from 1 to 100.</li>
+ * <li>{@code progressive} writes a progressive instead of a baseline
+ * JPEG.</li>
+ * <li>{@code optimizeHuffman} computes Huffman tables optimized for the image
+ * instead of the standard JPEG tables.</li>
+ * <li>{@code chromaSubsampling} selects {@code 444}, {@code 422} or
+ * {@code 420} (default) subsampling of the JPEG colour components, it does not
+ * apply to grayscale images.</li>
+ * <li>{@code compressionLevel} sets the PNG deflate level, from 0 (fastest) to
+ * 9 (smallest); without it the JDK PNG writer uses its own default level,
+ * 4.</li>
+ * </ul>
+ * Parameters of the other image format are ignored. The JDK PNG writer picks
+ * the row filters itself, so there is no filter parameter.
+ * </p>
+ *
+ * @since 1.3.0
+ */
+public final class ImageEncoder {
+	private static final String JPEG_METADATA_FORMAT = "javax_imageio_jpeg_image_1.0";
+	private static final int MAX_COMPRESSION_LEVEL = 9;
+
+	/**
+	 * Sampling of the JPEG chroma components relative to the luma component.
+	 */
+	public enum ChromaSubsampling {
+		S444("444", 1, 1), S422("422", 2, 1), S420("420", 2, 2);
+
+		private final String code;
+		private final int lumaHorizontalFactor;
+		private final int lumaVerticalFactor;
+
+		ChromaSubsampling(String code, int lumaHorizontalFactor, int lumaVerticalFactor) {
+			this.code = code;
+			this.lumaHorizontalFactor = lumaHorizontalFactor;
+			this.lumaVerticalFactor = lumaVerticalFactor;
+		}
+	}
+
+	private static final ImageEncoder DEFAULT = new ImageEncoder(0, false, false, null, -1);
+
+	private final int quality;
+	private final boolean progressive;
+	private final boolean optimizeHuffman;
+	private final ChromaSubsampling chromaSubsampling;
+	private final int compressionLevel;
+
+	private ImageEncoder(int quality, boolean progressive, boolean optimizeHuffman,
+			ChromaSubsampling chromaSubsampling, int compressionLevel) {
+		this.quality = quality;
+		this.progressive = progressive;
+		this.optimizeHuffman = optimizeHuffman;
+		this.chromaSubsampling = chromaSubsampling;
+		this.compressionLevel = compressionLevel;
+	}
+
+	/**
+	 * Returns the encoder writing the default encoding of the JDK writers.
+	 *
+	 * @return the default encode stage
+	 */
+	public static ImageEncoder defaults() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Reads the encode parameters from the target parameters, unknown parameters
+	 * are ignored.
+	 *
+	 * @param targetParameters the target parameters, may be {@code null}
+	 * @return the encode stage
+	 * @throws ConversionException if an encode parameter value is not valid
+	 */
+	public static ImageEncoder fromParameters(Map<String, String> targetParameters) throws ConversionException {
+		if (targetParameters == null)
+			return DEFAULT;
+
+		int quality = 0;
+		boolean progressive = false;
+		boolean optimizeHuffman = false;
+		ChromaSubsampling chromaSubsampling = null;
+		int compressionLevel = -1;
+
+		for (Map.Entry<String, String> entry : targetParameters.entrySet()) {
+			ParameterCode parameterCode = ParameterCode.fromCode(entry.getKey());
+			if (parameterCode == null)
+				continue;
+			switch (parameterCode) {
+			case QUALITY:
+				quality = parseInt(parameterCode, entry.getValue(), 1, 100);
+				break;
+			case PROGRESSIVE:
+				progressive = parseBoolean(parameterCode, entry.getValue());
+				break;
+			case OPTIMIZE_HUFFMAN:
+				optimizeHuffman = parseBoolean(parameterCode, entry.getValue());
+				break;
+			case CHROMA_SUBSAMPLING:
+				chromaSubsampling = parseChromaSubsampling(entry.getValue());
+				break;
+			case COMPRESSION_LEVEL:
+				compressionLevel = parseInt(parameterCode, entry.getValue(), 0, MAX_COMPRESSION_LEVEL);
+				break;
+			default:
+				break;
+			}
+		}
+		return new ImageEncoder(quality, progressive, optimizeHuffman, chromaSubsampling, compressionLevel);
+	}
+
+	/**
+	 * Checks if the image would be written with the default encoding of the JDK
+	 * writer, i.e. no encode parameter of the format is requested.
+	 *
+	 * @param formatName the informal format name, {@value ImageCodecPool#JPEG} or
+	 *                   {@value ImageCodecPool#PNG}
+	 * @return {@code true} if the format is written with its default encoding
+	 */
+	public boolean isDefault(String formatName) {
+		if (ImageCodecPool.JPEG.equals(formatName))
+			return quality == 0 && !progressive && !optimizeHuffman && chromaSubsampling == null;
+		if (ImageCodecPool.PNG.equals(formatName))
+			return compressionLevel < 0;
+		return true;
+	}
+
+	/**
+	 * Encodes the image.
+	 *
+	 * @param formatName the informal format name, {@value ImageCodecPool#JPEG} or
+	 *                   {@value ImageCodecPool#PNG}
+	 * @param image      the image
+	 * @return the encoded image
+	 * @throws IOException if the image can not be encoded
+	 */
+	public byte[] encode(String formatName, BufferedImage image) throws IOException {
+		if (ImageCodecPool.JPEG.equals(formatName)) {
+			return ImageCodecPool.write(formatName, image, getJpegParamConfigurer(), getJpegMetadataConfigurer(image));
+		}
+		if (ImageCodecPool.PNG.equals(formatName)) {
+			return ImageCodecPool.write(formatName, image, getPngParamConfigurer());
+		}
+		return ImageCodecPool.write(formatName, image);
+	}
+
+	private Consumer<ImageWriteParam> getJpegParamConfigurer() {
+		if (quality == 0 && !progressive && !optimizeHuffman)
+			return null;
+		return param -> {
+			if (quality > 0) {
+				param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+				param.setCompressionQuality(quality / 100f);
+			}
+			if (progressive)
+				param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+			if (optimizeHuffman && param instanceof JPEGImageWriteParam jpegParam)
+				jpegParam.setOptimizeHuffmanTables(true);
+		};
+	}
+
+	private ImageCodecPool.MetadataConfigurer getJpegMetadataConfigurer(BufferedImage image) {
+		if (chromaSubsampling == null || image.getColorModel().getNumColorComponents() < 3)
+			return null;
+		return metadata -> {
+			IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(JPEG_METADATA_FORMAT);
+			NodeList components = root.getElementsByTagName("componentSpec");
+			for (int index = 0; index < components.getLength(); index++) {
+				IIOMetadataNode component = (IIOMetadataNode) components.item(index);
+				component.setAttribute("HsamplingFactor",
+						String.valueOf(index == 0 ? chromaSubsampling.lumaHorizontalFactor : 1));
+				component.setAttribute("VsamplingFactor",
+						String.valueOf(index == 0 ? chromaSubsampling.lumaVerticalFactor : 1));
+			}
+			metadata.setFromTree(JPEG_METADATA_FORMAT, root);
+		};
+	}
+
+	private Consumer<ImageWriteParam> getPngParamConfigurer() {
+		if (compressionLevel < 0)
+			return null;
+		return param -> {
+			if (!param.canWriteCompressed())
+				return;
+			// the JDK PNG writer uses deflate level (int) (9 * (1 - quality))
+			param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+			param.setCompressionQuality(
+					Math.max(0f, 1f - (compressionLevel + 0.5f) / MAX_COMPRESSION_LEVEL));
+		};
+	}
+
+	private static int parseInt(ParameterCode parameterCode, String value, int min, int max)
+			throws ConversionException {
+		try {
+			int result = Integer.parseInt(value.trim());
+			if (result >= min && result <= max)
+				return result;
+		} catch (NumberFormatException | NullPointerException e) {
+			// reported below
+		}
+		throw invalidParameter(parameterCode, value);
+	}
+
+	private static boolean parseBoolean(ParameterCode parameterCode, String value) throws ConversionException {
+		String flag = value == null ? "" : value.trim();
+		if ("true".equalsIgnoreCase(flag))
+			return true;
+		if ("false".equalsIgnoreCase(flag))
+			return false;
+		throw invalidParameter(parameterCode, value);
+	}
+
+	private static ChromaSubsampling parseChromaSubsampling(String value) throws ConversionException {
+		String code = value == null ? "" : value.trim().replace(":", "");
+		for (ChromaSubsampling subsampling : ChromaSubsampling.values()) {
+			if (subsampling.code.equals(code))
+				return subsampling;
+		}
+		throw invalidParameter(ParameterCode.CHROMA_SUBSAMPLING, value);
+	}
+
+	private static ConversionException invalidParameter(ParameterCode parameterCode, String value) {
+		return new ConversionException(ConverterErrorCode.INVALID_TARGET_PARAMETER_EXCEPTION.getErrorCode(),
+				ConverterErrorCode.INVALID_TARGET_PARAMETER_EXCEPTION.getErrorMessage() + " " + parameterCode.getCode()
+						+ "=" + value);
+	}
+}
@@ -0,0 +1,36 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+/**
+ * Decoder of the JPEG and PNG images embedded in an ISO record, backed by the
+ * JDK ImageIO readers of {@link ImageCodecPool}. These images are always
+ * decoded at full resolution.
+ *
+ * @since 1.3.0
+ */
+public class ImageIoImageDecoder implements IImageDecoder {
+	private final String formatName;
+
+	/**
+	 * Constructs the decoder of a format.
+	 *
+	 * @param formatName the informal format name, {@value ImageCodecPool#JPEG} or
+	 *                   {@value ImageCodecPool#PNG}
+	 */
+	public ImageIoImageDecoder(String formatName) {
+		this.formatName = formatName;
+	}
+
+	@Override
+	public BufferedImage decode(byte[] imageData, Dimension minimumSize) throws IOException {
+		return ImageCodecPool.read(formatName, imageData);
+	}
+
+	@Override
+	public BufferedImage decode(byte[] data, int offset, int length, Dimension minimumSize) throws IOException {
+		return ImageCodecPool.read(formatName, data, offset, length, null);
+	}
+}
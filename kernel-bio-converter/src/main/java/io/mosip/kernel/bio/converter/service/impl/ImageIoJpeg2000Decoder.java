@@ -0,0 +1,23 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+/**
+ * JPEG2000 decoder, the pure Java jai-imageio-jpeg2000 ImageIO plugin
+ * driven by {@link Jpeg2000Decoder}.
+ *
+ * @since 1.3.0
+ */
+public class ImageIoJpeg2000Decoder implements IImageDecoder {
+	@Override
+	public BufferedImage decode(byte[] imageData, Dimension minimumSize) throws IOException {
+		return Jpeg2000Decoder.decode(imageData, minimumSize);
+	}
+
+	@Override
+	public BufferedImage decode(byte[] data, int offset, int length, Dimension minimumSize) throws IOException {
+		return Jpeg2000Decoder.decode(data, offset, length, minimumSize);
+	}
+}
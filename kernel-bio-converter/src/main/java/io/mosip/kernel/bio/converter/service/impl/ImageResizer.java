@@ -0,0 +1,290 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.color.ColorSpace;
+import java.awt.geom.AffineTransform;
+import java.awt.image.AffineTransformOp;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.ImagingOpException;
+import java.util.Locale;
+import java.util.Map;
+
+import org.imgscalr.Scalr;
+
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.constant.ParameterCode;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+
+/**
+ * Resize stage applied between the image decode and the image encode.
+ *
+ * <p>
+ * The {@code width}, {@code height}, {@code dpi} and {@code scaleMode} target
+ * parameters are honoured:
+ * <ul>
+ * <li>{@code dpi} rescales the image from the resolution it was captured at,
+ * when the record carries it (finger images).</li>
+ * <li>{@code width} and/or {@code height} bound the image size, the aspect
+ * ratio is kept.</li>
+ * <li>{@code scaleMode} selects {@code SPEED}, {@code BALANCED} (default) or
+ * {@code QUALITY} scaling.</li>
+ * </ul>
+ * 8 bit grayscale images (finger and iris) are scaled directly on their single
+ * band raster, colour images (face) are scaled with imgscalr. An image is not
+ * enlarged beyond {@value #MAX_PIXELS} pixels, so that a request can not make
+ * the converter allocate an arbitrarily large image.
+ * </p>
+ *
+ * @since 1.3.0
+ */
+public final class ImageResizer {
+	/**
+	 * Largest width or height that can be requested.
+	 */
+	private static final int MAX_DIMENSION = 10000;
+
+	/**
+	 * Largest number of pixels of an enlarged image.
+	 */
+	public static final long MAX_PIXELS = 4096L * 4096L;
+
+	/**
+	 * Speed/quality trade-off of the scaling.
+	 */
+	public enum ScaleMode {
+		SPEED, BALANCED, QUALITY
+	}
+
+	private final int width;
+	private final int height;
+	private final int dpi;
+	private final ScaleMode scaleMode;
+
+	private ImageResizer(int width, int height, int dpi, ScaleMode scaleMode) {
+		this.width = width;
+		this.height = height;
+		this.dpi = dpi;
+		this.scaleMode = scaleMode;
+	}
+
+	/**
+	 * Reads the resize parameters from the target parameters, unknown parameters
+	 * are ignored.
+	 *
+	 * @param targetParameters the target parameters, may be {@code null}
+	 * @return the resize stage
+	 * @throws ConversionException if a resize parameter value is not valid
+	 */
+	public static ImageResizer fromParameters(Map<String, String> targetParameters) throws ConversionException {
+		int width = 0;
+		int height = 0;
+		int dpi = 0;
+		ScaleMode scaleMode = ScaleMode.BALANCED;
+		if (targetParameters != null) {
+			for (Map.Entry<String, String> entry : targetParameters.entrySet()) {
+				ParameterCode parameterCode = ParameterCode.fromCode(entry.getKey());
+				if (parameterCode == null)
+					continue;
+				switch (parameterCode) {
+				case WIDTH:
+					width = parseDimension(parameterCode, entry.getValue());
+					break;
+				case HEIGHT:
+					height = parseDimension(parameterCode, entry.getValue());
+					break;
+				case DPI:
+					dpi = parseDimension(parameterCode, entry.getValue());
+					break;
+				case SCALE_MODE:
+					scaleMode = parseScaleMode(entry.getValue());
+					break;
+				default:
+					break;
+				}
+			}
+		}
+		return new ImageResizer(width, height, dpi, scaleMode);
+	}
+
+	/**
+	 * Checks if a resize is requested.
+	 *
+	 * @return {@code true} if a width, height or dpi is requested
+	 */
+	public boolean isResizeRequested() {
+		return width > 0 || height > 0 || dpi > 0;
+	}
+
+	/**
+	 * Computes the size of the resized image.
+	 *
+	 * @param sourceWidth  the source image width
+	 * @param sourceHeight the source image height
+	 * @param sourceDpi    the resolution the source image was captured at,
+	 *                     {@code 0} if unknown
+	 * @return the target size
+	 * @throws ConversionException if the image would be enlarged beyond
+	 *                             {@value #MAX_PIXELS} pixels
+	 */
+	public Dimension getTargetSize(int sourceWidth, int sourceHeight, int sourceDpi) throws ConversionException {
+		double targetWidth = sourceWidth;
+		double targetHeight = sourceHeight;
+		if (dpi > 0 && sourceDpi > 0) {
+			double scale = dpi / (double) sourceDpi;
+			targetWidth *= scale;
+			targetHeight *= scale;
+		}
+		if (width > 0 && height > 0) {
+			double scale = Math.min(width / targetWidth, height / targetHeight);
+			targetWidth *= scale;
+			targetHeight *= scale;
+		} else if (width > 0) {
+			targetHeight *= width / targetWidth;
+			targetWidth = width;
+		} else if (height > 0) {
+			targetWidth *= height / targetHeight;
+			targetHeight = height;
+		}
+		Dimension targetSize = new Dimension(Math.max(1, (int) Math.round(targetWidth)),
+				Math.max(1, (int) Math.round(targetHeight)));
+		long targetPixels = (long) targetSize.width * targetSize.height;
+		if (targetPixels > MAX_PIXELS && targetPixels > (long) sourceWidth * sourceHeight)
+			throw new ConversionException(ConverterErrorCode.INVALID_TARGET_PARAMETER_EXCEPTION.getErrorCode(),
+					ConverterErrorCode.INVALID_TARGET_PARAMETER_EXCEPTION.getErrorMessage() + " " + targetSize.width
+							+ "x" + targetSize.height + " exceeds " + MAX_PIXELS + " pixels");
+		return targetSize;
+	}
+
+	/**
+	 * Computes the size of the resized image from the size recorded in the ISO
+	 * representation, before the image is decoded.
+	 *
+	 * @param representation the ISO representation
+	 * @return the target size, {@code null} if no resize is requested or the
+	 *         representation does not record the image size
+	 * @throws ConversionException if the image would be enlarged beyond
+	 *                             {@value #MAX_PIXELS} pixels
+	 */
+	public Dimension getTargetSize(IsoRecordLayout.Representation representation) throws ConversionException {
+		if (!isResizeRequested() || representation.getWidth() == 0 || representation.getHeight() == 0)
+			return null;
+		return getTargetSize(representation.getWidth(), representation.getHeight(), representation.getResolution());
+	}
+
+	/**
+	 * Resizes the image to the given size. The image may already be smaller than
+	 * its source when it was decoded at a reduced resolution.
+	 *
+	 * @param image      the decoded image
+	 * @param targetSize the target size, {@code null} for no resize
+	 * @return the resized image, or the given image when no resize is needed
+	 */
+	public BufferedImage resize(BufferedImage image, Dimension targetSize) {
+		if (targetSize == null || (targetSize.width == image.getWidth() && targetSize.height == image.getHeight()))
+			return image;
+
+		if (isByteGray(image))
+			return resizeGray(image, targetSize.width, targetSize.height);
+		return Scalr.resize(image, getScalrMethod(), Scalr.Mode.FIT_EXACT, targetSize.width, targetSize.height);
+	}
+
+	private BufferedImage resizeGray(BufferedImage image, int targetWidth, int targetHeight) {
+		BufferedImage source = image;
+		if (scaleMode == ScaleMode.QUALITY) {
+			// halve in steps first so that large reductions do not alias
+			while (source.getWidth() / 2 >= targetWidth && source.getHeight() / 2 >= targetHeight) {
+				source = scaleGray(source, source.getWidth() / 2, source.getHeight() / 2,
+						AffineTransformOp.TYPE_BILINEAR);
+			}
+		}
+		return scaleGray(source, targetWidth, targetHeight, getInterpolationType());
+	}
+
+	private static BufferedImage scaleGray(BufferedImage image, int targetWidth, int targetHeight,
+			int interpolationType) {
+		BufferedImage outImage = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_BYTE_GRAY);
+		AffineTransform transform = AffineTransform.getScaleInstance(targetWidth / (double) image.getWidth(),
+				targetHeight / (double) image.getHeight());
+		try {
+			new AffineTransformOp(transform, interpolationType).filter(image.getRaster(), outImage.getRaster());
+		} catch (ImagingOpException e) {
+			Graphics2D graphics = outImage.createGraphics();
+			try {
+				graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, getInterpolationHint(interpolationType));
+				graphics.drawImage(image, 0, 0, targetWidth, targetHeight, null);
+			} finally {
+				graphics.dispose();
+			}
+		}
+		return outImage;
+	}
+
+	private static boolean isByteGray(BufferedImage image) {
+		if (image.getType() == BufferedImage.TYPE_BYTE_GRAY)
+			return true;
+		return image.getRaster().getNumBands() == 1 && image.getRaster().getTransferType() == DataBuffer.TYPE_BYTE
+				&& image.getColorModel().getComponentSize(0) == 8
+				&& image.getColorModel().getColorSpace().getType() == ColorSpace.TYPE_GRAY;
+	}
+
+	private int getInterpolationType() {
+		switch (scaleMode) {
+		case SPEED:
+			return AffineTransformOp.TYPE_NEAREST_NEIGHBOR;
+		case QUALITY:
+			return AffineTransformOp.TYPE_BICUBIC;
+		default:
+			return AffineTransformOp.TYPE_BILINEAR;
+		}
+	}
+
+	private static Object getInterpolationHint(int interpolationType) {
+		switch (interpolationType) {
+		case AffineTransformOp.TYPE_NEAREST_NEIGHBOR:
+			return RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR;
+		case AffineTransformOp.TYPE_BICUBIC:
+			return RenderingHints.VALUE_INTERPOLATION_BICUBIC;
+		default:
+			return RenderingHints.VALUE_INTERPOLATION_BILINEAR;
+		}
+	}
+
+	private Scalr.Method getScalrMethod() {
+		switch (scaleMode) {
+		case SPEED:
+			return Scalr.Method.SPEED;
+		case QUALITY:
+			return Scalr.Method.ULTRA_QUALITY;
+		default:
+			return Scalr.Method.BALANCED;
+		}
+	}
+
+	private static int parseDimension(ParameterCode parameterCode, String value) throws ConversionException {
+		try {
+			int dimension = Integer.parseInt(value.trim());
+			if (dimension > 0 && dimension <= MAX_DIMENSION)
+				return dimension;
+		} catch (NumberFormatException | NullPointerException e) {
+			// reported below
+		}
+		throw invalidParameter(parameterCode, value);
+	}
+
+	private static ScaleMode parseScaleMode(String value) throws ConversionException {
+		try {
+			return ScaleMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException | NullPointerException e) {
+			throw invalidParameter(ParameterCode.SCALE_MODE, value);
+		}
+	}
+
+	private static ConversionException invalidParameter(ParameterCode parameterCode, String value) {
+		return new ConversionException(ConverterErrorCode.INVALID_TARGET_PARAMETER_EXCEPTION.getErrorCode(),
+				ConverterErrorCode.INVALID_TARGET_PARAMETER_EXCEPTION.getErrorMessage() + " " + parameterCode.getCode()
+						+ "=" + value);
+	}
+}
@@ -0,0 +1,556 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+
+/**
+ * Byte layout of an ISO19794_4_2011, ISO19794_5_2011 or ISO19794_6_2011
+ * record.
+ *
+ * <p>
+ * The general header and the representation headers are walked in place on
+ * the record bytes to locate the image data block of every representation,
+ * together with the header fields describing it (image compression type,
+ * width, height, bit depth, finger position or eye label, finger image
+ * sampling rate and image data length). Nothing is copied, so the layout can
+ * be used to rewrite the image data block of a representation, or to extract
+ * a representation as a record of its own, without re-serialising the whole
+ * record.
+ * </p>
+ *
+ * @since 1.3.0
+ */
+public final class IsoRecordLayout {
+	/**
+	 * Length of the format identifier and version of the general header, enough
+	 * to detect the ISO format of a record.
+	 */
+	public static final int FORMAT_HEADER_LENGTH = 8;
+
+	private static final int RECORD_LENGTH_OFFSET = 8;
+	private static final int NO_OF_REPRESENTATIONS_OFFSET = 12;
+	private static final int CERTIFICATION_FLAG_OFFSET = 14;
+	/**
+	 * Number of distinct fingers or of eyes represented, in the finger and iris
+	 * general headers.
+	 */
+	private static final int NO_OF_POSITIONS_OFFSET = 15;
+
+	/**
+	 * Representation length, capture date and time, capture device technology,
+	 * vendor and type identifiers.
+	 */
+	private static final int REPRESENTATION_FIXED_HEADER_LENGTH = 18;
+	private static final int QUALITY_BLOCK_LENGTH = 5;
+	private static final int CERTIFICATION_BLOCK_LENGTH = 3;
+	private static final int FACE_INFORMATION_BLOCK_LENGTH = 17;
+	private static final int FACE_LANDMARK_POINT_LENGTH = 8;
+	private static final int FACE_IMAGE_INFORMATION_BLOCK_LENGTH = 11;
+	private static final int FACE_IMAGE_TYPE_3D_MASK = 0x80;
+	private static final int SCALE_UNITS_PPCM = 2;
+	private static final double CM_PER_INCH = 2.54;
+
+	private final SourceFormatCode sourceCode;
+	private final byte[] isoData;
+	private final List<Representation> representations;
+
+	private IsoRecordLayout(SourceFormatCode sourceCode, byte[] isoData, List<Representation> representations) {
+		this.sourceCode = sourceCode;
+		this.isoData = isoData;
+		this.representations = representations;
+	}
+
+	/**
+	 * Detects the ISO format of a record from the format identifier and version
+	 * of its general header.
+	 *
+	 * @param isoData the record bytes, at least its first
+	 *                {@link #FORMAT_HEADER_LENGTH} bytes
+	 * @return the ISO format of the record
+	 * @throws ConversionException if the record is not a finger, face or iris
+	 *                             record of a supported version
+	 */
+	public static SourceFormatCode detectSourceCode(byte[] isoData) throws ConversionException {
+		if (isoData != null && isoData.length >= FORMAT_HEADER_LENGTH) {
+			if (matches(isoData, 0, "FIR") && matches(isoData, 4, "020"))
+				return SourceFormatCode.ISO19794_4_2011;
+			if (matches(isoData, 0, "FAC") && matches(isoData, 4, "030"))
+				return SourceFormatCode.ISO19794_5_2011;
+			if (matches(isoData, 0, "IIR") && matches(isoData, 4, "020"))
+				return SourceFormatCode.ISO19794_6_2011;
+		}
+		throw new ConversionException(ConverterErrorCode.INVALID_SOURCE_EXCEPTION.getErrorCode(),
+				ConverterErrorCode.INVALID_SOURCE_EXCEPTION.getErrorMessage() + ", unknown ISO format identifier");
+	}
+
+	/**
+	 * Walks the headers of the record.
+	 *
+	 * @param sourceCode the ISO format of the record,
+	 *                   {@link SourceFormatCode#AUTO} to detect it
+	 * @param isoData    the record bytes
+	 * @return the layout of the record
+	 * @throws ConversionException if the record is not a valid record of the
+	 *                             given format
+	 */
+	public static IsoRecordLayout parse(SourceFormatCode sourceCode, byte[] isoData) throws ConversionException {
+		if (sourceCode == SourceFormatCode.AUTO)
+			sourceCode = detectSourceCode(isoData);
+		switch (sourceCode) {
+		case ISO19794_4_2011:
+			checkGeneralHeader(sourceCode, isoData, "FIR", "020", 16);
+			break;
+		case ISO19794_5_2011:
+			checkGeneralHeader(sourceCode, isoData, "FAC", "030", 17);
+			break;
+		case ISO19794_6_2011:
+			checkGeneralHeader(sourceCode, isoData, "IIR", "020", 16);
+			break;
+		default:
+			throw new ConversionException(ConverterErrorCode.INVALID_SOURCE_EXCEPTION.getErrorCode(),
+					ConverterErrorCode.INVALID_SOURCE_EXCEPTION.getErrorMessage());
+		}
+
+		int noOfRepresentations = readUnsignedShort(sourceCode, isoData, NO_OF_REPRESENTATIONS_OFFSET);
+		boolean certified = readUnsignedByte(sourceCode, isoData, CERTIFICATION_FLAG_OFFSET) != 0;
+		if (noOfRepresentations == 0)
+			throw invalidRecord(sourceCode, "Record has no representation");
+
+		List<Representation> representations = new ArrayList<>(noOfRepresentations);
+		int offset = sourceCode == SourceFormatCode.ISO19794_5_2011 ? 17 : 16;
+		for (int index = 0; index < noOfRepresentations; index++) {
+			Representation representation = parseRepresentation(sourceCode, isoData, offset, certified);
+			representations.add(representation);
+			offset += representation.getLength();
+		}
+		return new IsoRecordLayout(sourceCode, isoData, Collections.unmodifiableList(representations));
+	}
+
+	private static Representation parseRepresentation(SourceFormatCode sourceCode, byte[] isoData, int offset,
+			boolean certified) throws ConversionException {
+		int length = readInt(sourceCode, isoData, offset);
+		if (length < REPRESENTATION_FIXED_HEADER_LENGTH || length > isoData.length - offset)
+			throw invalidRecord(sourceCode, "Invalid representation length " + length);
+
+		int position = offset + REPRESENTATION_FIXED_HEADER_LENGTH;
+		int noOfQualityBlocks = readUnsignedByte(sourceCode, isoData, position);
+		position += 1 + noOfQualityBlocks * QUALITY_BLOCK_LENGTH;
+		if (certified) {
+			int noOfCertificationBlocks = readUnsignedByte(sourceCode, isoData, position);
+			position += 1 + noOfCertificationBlocks * CERTIFICATION_BLOCK_LENGTH;
+		}
+
+		int imageTypeOffset;
+		int samplingRateOffset = -1;
+		int resolution = 0;
+		int bitDepth = 0;
+		int imagePosition = 0;
+		int widthOffset;
+		int heightOffset;
+		int imageLengthOffset;
+		switch (sourceCode) {
+		case ISO19794_4_2011:
+			// finger position, representation number, scale units, 4 sampling rates, bit depth
+			samplingRateOffset = position + 7;
+			resolution = readUnsignedShort(sourceCode, isoData, samplingRateOffset);
+			if (readUnsignedByte(sourceCode, isoData, position + 2) == SCALE_UNITS_PPCM)
+				resolution = (int) Math.round(resolution * CM_PER_INCH);
+			bitDepth = readUnsignedByte(sourceCode, isoData, position + 11);
+			imagePosition = readUnsignedByte(sourceCode, isoData, position);
+			imageTypeOffset = position + 12;
+			widthOffset = position + 14;
+			heightOffset = position + 16;
+			imageLengthOffset = position + 18;
+			break;
+		case ISO19794_5_2011:
+			int noOfLandmarkPoints = readUnsignedShort(sourceCode, isoData, position);
+			position += FACE_INFORMATION_BLOCK_LENGTH + noOfLandmarkPoints * FACE_LANDMARK_POINT_LENGTH;
+			if ((readUnsignedByte(sourceCode, isoData, position) & FACE_IMAGE_TYPE_3D_MASK) != 0)
+				throw invalidRecord(sourceCode, "3D face representation not supported");
+			imageTypeOffset = position + 1;
+			widthOffset = position + 2;
+			heightOffset = position + 4;
+			imageLengthOffset = position + FACE_IMAGE_INFORMATION_BLOCK_LENGTH;
+			break;
+		default:
+			// representation number, eye label, image type
+			imageTypeOffset = position + 4;
+			widthOffset = position + 6;
+			heightOffset = position + 8;
+			bitDepth = readUnsignedByte(sourceCode, isoData, position + 10);
+			imagePosition = readUnsignedByte(sourceCode, isoData, position + 2);
+			imageLengthOffset = position + 29;
+			break;
+		}
+
+		int imageOffset = imageLengthOffset + 4;
+		int imageLength = readInt(sourceCode, isoData, imageLengthOffset);
+		if (imageLength < 0 || imageLength > offset + length - imageOffset)
+			throw invalidRecord(sourceCode, "Invalid image data length " + imageLength);
+
+		return new Representation(offset, length, imageTypeOffset,
+				readUnsignedByte(sourceCode, isoData, imageTypeOffset), widthOffset,
+				readUnsignedShort(sourceCode, isoData, widthOffset), heightOffset,
+				readUnsignedShort(sourceCode, isoData, heightOffset), bitDepth, imagePosition, samplingRateOffset,
+				resolution, imageLengthOffset, imageOffset, imageLength);
+	}
+
+	/**
+	 * Retrieves the ISO format of the record, as detected when the record was
+	 * parsed with {@link SourceFormatCode#AUTO}.
+	 *
+	 * @return the ISO format
+	 */
+	public SourceFormatCode getSourceCode() {
+		return sourceCode;
+	}
+
+	/**
+	 * Retrieves the record bytes the layout refers to.
+	 *
+	 * @return the record bytes, not a copy
+	 */
+	public byte[] getIsoData() {
+		return isoData;
+	}
+
+	/**
+	 * Retrieves the representations in record order.
+	 *
+	 * @return the unmodifiable list of representations
+	 */
+	public List<Representation> getRepresentations() {
+		return representations;
+	}
+
+	/**
+	 * Extracts a representation as a record holding only that representation.
+	 *
+	 * <p>
+	 * The general header is copied with the record length, the number of
+	 * representations and, for finger and iris records, the number of fingers
+	 * or eyes rewritten; the representation is copied as it is.
+	 * </p>
+	 *
+	 * @param representation a representation of this record
+	 * @return the single representation record bytes
+	 */
+	public byte[] extractRepresentation(Representation representation) {
+		int headerLength = sourceCode == SourceFormatCode.ISO19794_5_2011 ? 17 : 16;
+		byte[] outData = new byte[headerLength + representation.getLength()];
+		System.arraycopy(isoData, 0, outData, 0, headerLength);
+		System.arraycopy(isoData, representation.getOffset(), outData, headerLength, representation.getLength());
+
+		writeInt(outData, RECORD_LENGTH_OFFSET, outData.length);
+		writeShort(outData, NO_OF_REPRESENTATIONS_OFFSET, 1);
+		if (sourceCode != SourceFormatCode.ISO19794_5_2011)
+			outData[NO_OF_POSITIONS_OFFSET] = 1;
+		return outData;
+	}
+
+	/**
+	 * Replaces the image data block of a representation.
+	 *
+	 * <p>
+	 * The image data is spliced into a copy of the record, and only the record
+	 * length, the representation length, the image data length and the image
+	 * compression type fields are rewritten; all the other header fields and
+	 * blocks are kept as they are.
+	 * </p>
+	 *
+	 * @param isoData        the record bytes, may already have the images of
+	 *                       representations after this one replaced
+	 * @param representation the representation, as located in the original
+	 *                       record
+	 * @param image          the new image data
+	 * @param imageType      the image compression type of the new image data
+	 * @return the new record bytes
+	 */
+	public static byte[] replaceImage(byte[] isoData, Representation representation, byte[] image, int imageType) {
+		return replaceImage(isoData, representation, image, imageType, representation.getWidth(),
+				representation.getHeight());
+	}
+
+	/**
+	 * Replaces the image data block of a representation with an image of another
+	 * size.
+	 *
+	 * <p>
+	 * As {@link #replaceImage(byte[], Representation, byte[], int)}, the image
+	 * width and height fields are rewritten as well and, for finger records, the
+	 * image spatial sampling rates are scaled with the image so that the record
+	 * keeps describing the physical size of the capture. Other pixel coordinates,
+	 * such as the face landmark points or the iris center and diameter, are not
+	 * rescaled: face and iris images must keep their size.
+	 * </p>
+	 *
+	 * @param isoData        the record bytes, may already have the images of
+	 *                       representations after this one replaced
+	 * @param representation the representation, as located in the original
+	 *                       record
+	 * @param image          the new image data
+	 * @param imageType      the image compression type of the new image data
+	 * @param width          the width of the new image
+	 * @param height         the height of the new image
+	 * @return the new record bytes
+	 */
+	public static byte[] replaceImage(byte[] isoData, Representation representation, byte[] image, int imageType,
+			int width, int height) {
+		int delta = image.length - representation.getImageLength();
+		int tailOffset = representation.getImageOffset() + representation.getImageLength();
+
+		byte[] outData = new byte[isoData.length + delta];
+		System.arraycopy(isoData, 0, outData, 0, representation.getImageOffset());
+		System.arraycopy(image, 0, outData, representation.getImageOffset(), image.length);
+		System.arraycopy(isoData, tailOffset, outData, tailOffset + delta, isoData.length - tailOffset);
+
+		writeInt(outData, RECORD_LENGTH_OFFSET, readInt(null, isoData, RECORD_LENGTH_OFFSET) + delta);
+		writeInt(outData, representation.getOffset(), representation.getLength() + delta);
+		writeInt(outData, representation.getImageLengthOffset(), image.length);
+		outData[representation.getImageTypeOffset()] = (byte) imageType;
+		if (width != representation.getWidth() || height != representation.getHeight()) {
+			int samplingRateOffset = representation.getSamplingRateOffset();
+			if (samplingRateOffset >= 0) {
+				writeShort(outData, samplingRateOffset,
+						scale(readUnsignedShort(null, isoData, samplingRateOffset), width, representation.getWidth()));
+				writeShort(outData, samplingRateOffset + 2, scale(
+						readUnsignedShort(null, isoData, samplingRateOffset + 2), height, representation.getHeight()));
+			}
+			writeShort(outData, representation.getWidthOffset(), width);
+			writeShort(outData, representation.getHeightOffset(), height);
+		}
+		return outData;
+	}
+
+	private static void checkGeneralHeader(SourceFormatCode sourceCode, byte[] isoData, String formatIdentifier,
+			String version, int headerLength) throws ConversionException {
+		if (isoData == null || isoData.length < headerLength)
+			throw invalidRecord(sourceCode, "Record too short");
+		if (!matches(isoData, 0, formatIdentifier) || !matches(isoData, 4, version))
+			throw invalidRecord(sourceCode, "Invalid format identifier or version");
+	}
+
+	private static boolean matches(byte[] isoData, int offset, String value) {
+		for (int index = 0; index < value.length(); index++) {
+			if (isoData[offset + index] != value.charAt(index))
+				return false;
+		}
+		return isoData[offset + value.length()] == 0;
+	}
+
+	private static int readUnsignedByte(SourceFormatCode sourceCode, byte[] isoData, int offset) {
+		checkBounds(sourceCode, isoData, offset, 1);
+		return isoData[offset] & 0xFF;
+	}
+
+	private static int readUnsignedShort(SourceFormatCode sourceCode, byte[] isoData, int offset) {
+		checkBounds(sourceCode, isoData, offset, 2);
+		return ((isoData[offset] & 0xFF) << 8) | (isoData[offset + 1] & 0xFF);
+	}
+
+	private static int readInt(SourceFormatCode sourceCode, byte[] isoData, int offset) {
+		checkBounds(sourceCode, isoData, offset, 4);
+		return ((isoData[offset] & 0xFF) << 24) | ((isoData[offset + 1] & 0xFF) << 16)
+				| ((isoData[offset + 2] & 0xFF) << 8) | (isoData[offset + 3] & 0xFF);
+	}
+
+	private static int scale(int value, int size, int originalSize) {
+		if (originalSize == 0)
+			return value;
+		return (int) Math.min(0xFFFF, Math.round(value * (double) size / originalSize));
+	}
+
+	private static void writeShort(byte[] isoData, int offset, int value) {
+		isoData[offset] = (byte) (value >>> 8);
+		isoData[offset + 1] = (byte) value;
+	}
+
+	private static void writeInt(byte[] isoData, int offset, int value) {
+		isoData[offset] = (byte) (value >>> 24);
+		isoData[offset + 1] = (byte) (value >>> 16);
+		isoData[offset + 2] = (byte) (value >>> 8);
+		isoData[offset + 3] = (byte) value;
+	}
+
+	private static void checkBounds(SourceFormatCode sourceCode, byte[] isoData, int offset, int length) {
+		if (offset < 0 || offset + length > isoData.length)
+			throw invalidRecord(sourceCode, "Record truncated at offset " + offset);
+	}
+
+	private static ConversionException invalidRecord(SourceFormatCode sourceCode, String message) {
+		ConverterErrorCode errorCode;
+		if (sourceCode == null) {
+			errorCode = ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION;
+		} else {
+			switch (sourceCode) {
+			case ISO19794_4_2011:
+				errorCode = ConverterErrorCode.SOURCE_NOT_VALID_FINGER_ISO_FORMAT_EXCEPTION;
+				break;
+			case ISO19794_5_2011:
+				errorCode = ConverterErrorCode.SOURCE_NOT_VALID_FACE_ISO_FORMAT_EXCEPTION;
+				break;
+			default:
+				errorCode = ConverterErrorCode.SOURCE_NOT_VALID_IRIS_ISO_FORMAT_EXCEPTION;
+				break;
+			}
+		}
+		return new ConversionException(errorCode.getErrorCode(), message);
+	}
+
+	/**
+	 * Location of a representation and of its image data block in the record.
+	 */
+	public static final class Representation {
+		private final int offset;
+		private final int length;
+		private final int imageTypeOffset;
+		private final int imageType;
+		private final int widthOffset;
+		private final int width;
+		private final int heightOffset;
+		private final int height;
+		private final int bitDepth;
+		private final int position;
+		private final int samplingRateOffset;
+		private final int resolution;
+		private final int imageLengthOffset;
+		private final int imageOffset;
+		private final int imageLength;
+
+		@SuppressWarnings({ "java:S107" })
+		Representation(int offset, int length, int imageTypeOffset, int imageType, int widthOffset, int width,
+				int heightOffset, int height, int bitDepth, int position, int samplingRateOffset, int resolution,
+				int imageLengthOffset, int imageOffset, int imageLength) {
+			this.offset = offset;
+			this.length = length;
+			this.imageTypeOffset = imageTypeOffset;
+			this.imageType = imageType;
+			this.widthOffset = widthOffset;
+			this.width = width;
+			this.heightOffset = heightOffset;
+			this.height = height;
+			this.bitDepth = bitDepth;
+			this.position = position;
+			this.samplingRateOffset = samplingRateOffset;
+			this.resolution = resolution;
+			this.imageLengthOffset = imageLengthOffset;
+			this.imageOffset = imageOffset;
+			this.imageLength = imageLength;
+		}
+
+		/**
+		 * @return the offset of the representation header in the record
+		 */
+		public int getOffset() {
+			return offset;
+		}
+
+		/**
+		 * @return the representation length, header included
+		 */
+		public int getLength() {
+			return length;
+		}
+
+		/**
+		 * @return the offset of the image compression type field
+		 */
+		public int getImageTypeOffset() {
+			return imageTypeOffset;
+		}
+
+		/**
+		 * @return the finger image compression type, the face image data type or
+		 *         the iris image format
+		 */
+		public int getImageType() {
+			return imageType;
+		}
+
+		/**
+		 * @return the offset of the image width field
+		 */
+		public int getWidthOffset() {
+			return widthOffset;
+		}
+
+		/**
+		 * @return the image width in pixels
+		 */
+		public int getWidth() {
+			return width;
+		}
+
+		/**
+		 * @return the offset of the image height field
+		 */
+		public int getHeightOffset() {
+			return heightOffset;
+		}
+
+		/**
+		 * @return the image height in pixels
+		 */
+		public int getHeight() {
+			return height;
+		}
+
+		/**
+		 * @return the bits per pixel of the grayscale finger or iris image,
+		 *         {@code 0} if the record does not carry it
+		 */
+		public int getBitDepth() {
+			return bitDepth;
+		}
+
+		/**
+		 * @return the finger position or the eye label of the finger or iris
+		 *         image, {@code 0} for a face image
+		 */
+		public int getPosition() {
+			return position;
+		}
+
+		/**
+		 * @return the offset of the horizontal image spatial sampling rate field,
+		 *         followed by the vertical one, {@code -1} if the record has none
+		 */
+		public int getSamplingRateOffset() {
+			return samplingRateOffset;
+		}
+
+		/**
+		 * @return the horizontal image resolution in pixels per inch, {@code 0} if
+		 *         the record does not carry it
+		 */
+		public int getResolution() {
+			return resolution;
+		}
+
+		/**
+		 * @return the offset of the image data length field
+		 */
+		public int getImageLengthOffset() {
+			return imageLengthOffset;
+		}
+
+		/**
+		 * @return the offset of the image data in the record
+		 */
+		public int getImageOffset() {
+			return imageOffset;
+		}
+
+		/**
+		 * @return the image data length
+		 */
+		public int getImageLength() {
+			return imageLength;
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import com.github.jaiimageio.jpeg2000.J2KImageReadParam;
+
+/**
+ * JPEG2000 decoder that decodes only the wavelet resolution levels needed for
+ * the requested image size.
+ *
+ * <p>
+ * The main header of the codestream (SIZ and COD marker segments) is read to
+ * get the image size and the number of decomposition levels, and the coarsest
+ * resolution level still at least as large as the requested size is decoded.
+ * Thumbnails are decoded from a fraction of the codestream and the final
+ * resize only has to scale down a little. Without a requested size, or when
+ * the header can not be read, the full resolution image is decoded.
+ * </p>
+ *
+ * @since 1.3.0
+ */
+public final class Jpeg2000Decoder {
+	private static final int SOC = 0xFF4F;
+	private static final int SIZ = 0xFF51;
+	private static final int COD = 0xFF52;
+	private static final int SOT = 0xFF90;
+	private static final int SOD = 0xFF93;
+
+	/**
+	 * Offset of the number of decomposition levels in the COD marker segment:
+	 * marker, length, coding style, progression order, layers and multiple
+	 * component transformation.
+	 */
+	private static final int COD_DECOMPOSITION_LEVELS_OFFSET = 9;
+
+	private Jpeg2000Decoder() {
+	}
+
+	/**
+	 * Decodes a JPEG2000 image.
+	 *
+	 * @param imageData   the JP2 file or the raw JPEG2000 codestream
+	 * @param minimumSize the smallest size the decoded image may have,
+	 *                    {@code null} to decode at full resolution
+	 * @return the decoded image, {@code null} if no JPEG2000 reader can decode it
+	 * @throws IOException if the image can not be decoded
+	 */
+	public static BufferedImage decode(byte[] imageData, Dimension minimumSize) throws IOException {
+		return decode(imageData, 0, imageData.length, minimumSize);
+	}
+
+	/**
+	 * Decodes a JPEG2000 image embedded at an offset of an array, the image is
+	 * read in place.
+	 *
+	 * @param data        the array holding the JP2 file or the raw JPEG2000
+	 *                    codestream
+	 * @param offset      the offset of the image in the array
+	 * @param length      the length of the image
+	 * @param minimumSize the smallest size the decoded image may have,
+	 *                    {@code null} to decode at full resolution
+	 * @return the decoded image, {@code null} if no JPEG2000 reader can decode it
+	 * @throws IOException if the image can not be decoded
+	 */
+	public static BufferedImage decode(byte[] data, int offset, int length, Dimension minimumSize)
+			throws IOException {
+		int[] header = minimumSize != null ? readMainHeader(data, offset, offset + length) : null;
+		int reduction = header != null ? getResolutionReduction(header, minimumSize) : 0;
+		if (reduction == 0)
+			return ImageCodecPool.read(ImageCodecPool.JPEG2000, data, offset, length, null);
+
+		// resolution levels go from 0 (coarsest) to the number of decomposition levels
+		int resolution = header[2] - reduction;
+		return ImageCodecPool.read(ImageCodecPool.JPEG2000, data, offset, length, param -> {
+			if (param instanceof J2KImageReadParam) {
+				((J2KImageReadParam) param).setResolution(resolution);
+			} else {
+				param.setSourceSubsampling(1 << reduction, 1 << reduction, 0, 0);
+			}
+		});
+	}
+
+	/**
+	 * Computes how many resolution levels can be dropped while keeping the image
+	 * at least as large as the requested size.
+	 *
+	 * @param imageData   the JP2 file or the raw JPEG2000 codestream
+	 * @param minimumSize the smallest size the decoded image may have,
+	 *                    {@code null} for the full resolution
+	 * @return the number of resolution levels to drop, {@code 0} when the
+	 *         codestream main header can not be read
+	 */
+	public static int getResolutionReduction(byte[] imageData, Dimension minimumSize) {
+		int[] header = minimumSize != null ? readMainHeader(imageData, 0, imageData.length) : null;
+		return header != null ? getResolutionReduction(header, minimumSize) : 0;
+	}
+
+	private static int getResolutionReduction(int[] header, Dimension minimumSize) {
+		for (int reduction = header[2]; reduction > 0; reduction--) {
+			int width = header[0] >> reduction;
+			int height = header[1] >> reduction;
+			if (width >= minimumSize.width && height >= minimumSize.height)
+				return reduction;
+		}
+		return 0;
+	}
+
+	/**
+	 * Reads the image width, the image height and the number of decomposition
+	 * levels from the codestream main header.
+	 *
+	 * @return the header values, {@code null} if the codestream main header can
+	 *         not be found
+	 */
+	private static int[] readMainHeader(byte[] imageData, int start, int end) {
+		int offset = findCodestream(imageData, start, end);
+		if (offset < 0)
+			return null;
+
+		int width = -1;
+		int height = -1;
+		offset += 2;
+		while (offset + 4 <= end) {
+			int marker = readUnsignedShort(imageData, offset);
+			int length = readUnsignedShort(imageData, offset + 2);
+			if (marker == SOT || marker == SOD || (marker & 0xFF00) != 0xFF00)
+				return null;
+			if (marker == SIZ && offset + 22 <= end) {
+				// Xsiz, Ysiz, XOsiz and YOsiz after Lsiz and Rsiz
+				width = readInt(imageData, offset + 6) - readInt(imageData, offset + 14);
+				height = readInt(imageData, offset + 10) - readInt(imageData, offset + 18);
+			} else if (marker == COD && offset + COD_DECOMPOSITION_LEVELS_OFFSET < end) {
+				int levels = imageData[offset + COD_DECOMPOSITION_LEVELS_OFFSET] & 0xFF;
+				return width > 0 && height > 0 ? new int[] { width, height, levels } : null;
+			}
+			offset += 2 + length;
+		}
+		return null;
+	}
+
+	/**
+	 * Finds the start of codestream marker, directly at the start of a raw
+	 * codestream or inside the contiguous codestream box of a JP2 file.
+	 */
+	private static int findCodestream(byte[] imageData, int start, int end) {
+		for (int offset = start; offset + 4 <= end; offset++) {
+			if (readUnsignedShort(imageData, offset) == SOC && readUnsignedShort(imageData, offset + 2) == SIZ)
+				return offset;
+		}
+		return -1;
+	}
+
+	private static int readUnsignedShort(byte[] data, int offset) {
+		return ((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF);
+	}
+
+	private static int readInt(byte[] data, int offset) {
+		return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16) | ((data[offset + 2] & 0xFF) << 8)
+				| (data[offset + 3] & 0xFF);
+	}
+}
@@ -0,0 +1,79 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+/**
+ * Decoder of the uncompressed grayscale images of the finger ({@code RAW} and
+ * {@code RAW bit packed}) and iris ({@code MONO_RAW}) records.
+ *
+ * <p>
+ * The pixels have no header of their own, so the image is read from the
+ * record bytes using the width, height and bit depth of the representation
+ * header. 8 bit images are wrapped in place: the image data block of the record
+ * becomes the data buffer of the image, with no copy. Other bit depths are
+ * scaled to 8 bit pixels, the high order bits of 16 bit pixels being kept.
+ * Unpacked pixels of more than 8 bits are stored on two bytes, most
+ * significant byte first, and bit packed pixels follow each other with no
+ * padding, most significant bit first.
+ * </p>
+ *
+ * @since 1.3.0
+ */
+public final class RawImageDecoder {
+	private static final int MAX_BIT_DEPTH = 16;
+
+	private RawImageDecoder() {
+	}
+
+	/**
+	 * Decodes the uncompressed image of a representation.
+	 *
+	 * @param isoData        the record bytes, an 8 bit image keeps a reference to
+	 *                       them
+	 * @param representation the representation, as located in the record
+	 * @param bitPacked      {@code true} if the pixels are bit packed
+	 * @return the {@link BufferedImage#TYPE_BYTE_GRAY} image
+	 * @throws IOException if the bit depth is not supported or the image data
+	 *                     block is smaller than the image
+	 */
+	public static BufferedImage decode(byte[] isoData, IsoRecordLayout.Representation representation,
+			boolean bitPacked) throws IOException {
+		int width = representation.getWidth();
+		int height = representation.getHeight();
+		int bitDepth = representation.getBitDepth();
+		if (bitDepth <= 0 || bitDepth > MAX_BIT_DEPTH)
+			throw new IOException("Unsupported raw image bit depth " + bitDepth);
+
+		int bitsPerPixel = bitPacked ? bitDepth : (bitDepth + 7) / 8 * 8;
+		long imageBits = (long) width * height * bitsPerPixel;
+		if (representation.getImageLength() < (imageBits + 7) / 8)
+			throw new IOException("Raw image data of " + representation.getImageLength() + " bytes too short for "
+					+ width + "x" + height + " pixels of " + bitDepth + " bits");
+
+		if (bitDepth == 8)
+			return WsqImageDecoder.toGrayImage(isoData, representation.getImageOffset(), width, height);
+
+		byte[] pixels = new byte[width * height];
+		long bitOffset = (long) representation.getImageOffset() * 8;
+		int maxValue = (1 << bitDepth) - 1;
+		for (int index = 0; index < pixels.length; index++) {
+			int value = readBits(isoData, bitOffset + (long) index * bitsPerPixel + bitsPerPixel - bitDepth,
+					bitDepth);
+			pixels[index] = (byte) (bitDepth > 8 ? value >>> (bitDepth - 8) : value * 255 / maxValue);
+		}
+		return WsqImageDecoder.toGrayImage(pixels, width, height);
+	}
+
+	/**
+	 * Reads an unsigned value of up to 16 bits, most significant bit first.
+	 */
+	private static int readBits(byte[] data, long bitOffset, int bitCount) {
+		int value = 0;
+		for (int bit = 0; bit < bitCount; bit++) {
+			long position = bitOffset + bit;
+			value = (value << 1) | ((data[(int) (position >>> 3)] >>> (7 - (int) (position & 7))) & 1);
+		}
+		return value;
+	}
+}
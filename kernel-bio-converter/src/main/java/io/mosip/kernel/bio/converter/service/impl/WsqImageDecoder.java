@@ -0,0 +1,77 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.Dimension;
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+
+import org.jnbis.api.model.Bitmap;
+import org.jnbis.internal.WsqDecoder;
+
+/**
+ * WSQ decoder of the finger images, backed by jnbis. WSQ images are always
+ * decoded at full resolution.
+ *
+ * <p>
+ * The 8 bit grayscale pixels decoded by jnbis are wrapped as the data buffer
+ * of a {@link BufferedImage#TYPE_BYTE_GRAY} image, so the frame is not copied
+ * again between the decode and the resize or encode stages.
+ * </p>
+ *
+ * @since 1.3.0
+ */
+public class WsqImageDecoder implements IImageDecoder {
+	private static final ColorModel GRAY_COLOR_MODEL = new ComponentColorModel(
+			ColorSpace.getInstance(ColorSpace.CS_GRAY), new int[] { 8 }, false, false, Transparency.OPAQUE,
+			DataBuffer.TYPE_BYTE);
+
+	@Override
+	public BufferedImage decode(byte[] imageData, Dimension minimumSize) throws IOException {
+		WsqDecoder decoder = new WsqDecoder();
+		Bitmap bitmap = decoder.decode(imageData);
+		return toGrayImage(bitmap.getPixels(), bitmap.getWidth(), bitmap.getHeight());
+	}
+
+	/**
+	 * Wraps 8 bit grayscale pixels, one byte per pixel row by row, in an image
+	 * without copying them.
+	 *
+	 * @param pixels the pixels, the image keeps a reference to the array
+	 * @param width  the image width
+	 * @param height the image height
+	 * @return the {@link BufferedImage#TYPE_BYTE_GRAY} image
+	 * @throws IOException if there are fewer pixels than the image size
+	 */
+	public static BufferedImage toGrayImage(byte[] pixels, int width, int height) throws IOException {
+		return toGrayImage(pixels, 0, width, height);
+	}
+
+	/**
+	 * Wraps 8 bit grayscale pixels, one byte per pixel row by row, starting at
+	 * an offset of an array in an image without copying them.
+	 *
+	 * @param data   the array holding the pixels, the image keeps a reference to
+	 *               it
+	 * @param offset the offset of the first pixel in the array
+	 * @param width  the image width
+	 * @param height the image height
+	 * @return the {@link BufferedImage#TYPE_BYTE_GRAY} image
+	 * @throws IOException if there are fewer pixels than the image size
+	 */
+	public static BufferedImage toGrayImage(byte[] data, int offset, int width, int height) throws IOException {
+		if (width <= 0 || height <= 0 || offset < 0 || data.length - offset < (long) width * height)
+			throw new IOException("Invalid grayscale image " + width + "x" + height + " with "
+					+ (data.length - offset) + " pixels");
+		// the offset is a band offset, the JDK color conversion ignores the data buffer offset
+		WritableRaster raster = Raster.createInterleavedRaster(new DataBufferByte(data, data.length), width,
+				height, width, 1, new int[] { offset }, null);
+		return new BufferedImage(GRAY_COLOR_MODEL, raster, false, null);
+	}
+}
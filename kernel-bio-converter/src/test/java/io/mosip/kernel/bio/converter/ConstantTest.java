@@ -20,6 +20,13 @@ class ConstantTest {
 		assertEquals("dpi", ParameterCode.DPI.getCode());
 		assertEquals("width", ParameterCode.WIDTH.getCode());
 		assertEquals("height", ParameterCode.HEIGHT.getCode());
+		assertEquals("scaleMode", ParameterCode.SCALE_MODE.getCode());
+		assertEquals("quality", ParameterCode.QUALITY.getCode());
+		assertEquals("progressive", ParameterCode.PROGRESSIVE.getCode());
+		assertEquals("optimizeHuffman", ParameterCode.OPTIMIZE_HUFFMAN.getCode());
+		assertEquals("chromaSubsampling", ParameterCode.CHROMA_SUBSAMPLING.getCode());
+		assertEquals("compressionLevel", ParameterCode.COMPRESSION_LEVEL.getCode());
+		assertEquals("representations", ParameterCode.REPRESENTATIONS.getCode());
 	}
 
 	@Test
@@ -69,6 +76,7 @@ class ConstantTest {
 		assertEquals(SourceFormatCode.ISO19794_4_2011, SourceFormatCode.fromCode("ISO19794_4_2011"));
 		assertEquals(SourceFormatCode.ISO19794_5_2011, SourceFormatCode.fromCode("ISO19794_5_2011"));
 		assertEquals(SourceFormatCode.ISO19794_6_2011, SourceFormatCode.fromCode("ISO19794_6_2011"));
+		assertEquals(SourceFormatCode.AUTO, SourceFormatCode.fromCode("AUTO"));
 	}
 
 	@Test
@@ -1,7 +1,9 @@
 package io.mosip.kernel.bio.converter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -9,13 +11,22 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
 
+import java.awt.Dimension;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
 import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
 
 import javax.imageio.ImageIO;
 
@@ -23,14 +34,35 @@ import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.biometrics.util.CommonUtil;
 import io.mosip.biometrics.util.face.ImageDataType;
 import io.mosip.biometrics.util.finger.FingerImageCompressionType;
 import io.mosip.biometrics.util.iris.ImageFormat;
 import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
 import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
 import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
+import io.mosip.kernel.bio.converter.dto.ConversionErrorDto;
+import io.mosip.kernel.bio.converter.dto.ConvertRequestDto;
+import io.mosip.kernel.bio.converter.dto.ConvertResponseDto;
+import io.mosip.kernel.bio.converter.dto.SourceValue;
 import io.mosip.kernel.bio.converter.exception.ConversionException;
+import io.mosip.kernel.bio.converter.exception.ConversionRejectedException;
+import io.mosip.kernel.bio.converter.service.ConversionOptions;
+import io.mosip.kernel.bio.converter.service.IConverterApi;
+import io.mosip.kernel.bio.converter.service.impl.ConversionExecutor;
+import io.mosip.kernel.bio.converter.service.impl.ConversionLimiter;
+import io.mosip.kernel.bio.converter.service.impl.ConversionMetrics;
+import io.mosip.kernel.bio.converter.service.impl.ConversionResultCache;
 import io.mosip.kernel.bio.converter.service.impl.ConverterServiceImpl;
+import io.mosip.kernel.bio.converter.service.impl.ImageCodecPool;
+import io.mosip.kernel.bio.converter.service.impl.ImageDecoderRegistry;
+import io.mosip.kernel.bio.converter.service.impl.ImageIoImageDecoder;
+import io.mosip.kernel.bio.converter.service.impl.ImageIoJpeg2000Decoder;
+import io.mosip.kernel.bio.converter.service.impl.IsoRecordLayout;
+import io.mosip.kernel.bio.converter.service.impl.Jpeg2000Decoder;
+import io.mosip.kernel.bio.converter.service.impl.RawImageDecoder;
+import io.mosip.kernel.bio.converter.service.impl.WsqImageDecoder;
 
 class ConverterServiceImplTest {
 
@@ -68,6 +100,607 @@ class ConverterServiceImplTest {
         // further assertions based on expected output
     }
 
+    @Test
+    void testConvert_inParallel_shouldReturnAllConvertedImages() {
+        ConversionExecutor executor = new ConversionExecutor(true, 2);
+        try {
+            ConverterServiceImpl parallelService = new ConverterServiceImpl(executor, null, null, null, null, false);
+            Map<String, String> values = new HashMap<>();
+            values.put("Left IndexFinger", bioData);
+            values.put("Right IndexFinger", bioData);
+            values.put("Left MiddleFinger", bioData);
+
+            Map<String, String> result = parallelService.convert(values, "ISO19794_4_2011", "IMAGE/PNG", new HashMap<>(), new HashMap<>());
+
+            assertEquals(values.keySet(), result.keySet());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testConvert_inParallel_withInvalidEntry_shouldThrowException() {
+        ConversionExecutor executor = new ConversionExecutor(true, 2);
+        try {
+            ConverterServiceImpl parallelService = new ConverterServiceImpl(executor, null, null, null, null, false);
+            Map<String, String> values = new HashMap<>();
+            values.put("Left IndexFinger", bioData);
+            values.put("Right IndexFinger", "aGVsbG8gaG93IGFyZSB5b3U");
+
+            ConversionException exception = assertThrows(ConversionException.class, () -> {
+                parallelService.convert(values, "ISO19794_4_2011", "IMAGE/JPEG", new HashMap<>(), new HashMap<>());
+            });
+            assertEquals(ConverterErrorCode.SOURCE_NOT_VALID_FINGER_ISO_FORMAT_EXCEPTION.getErrorCode(), exception.getErrorCode());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testConvertPartial_withInvalidEntries_shouldConvertTheOthers() {
+        Map<String, String> values = new HashMap<>();
+        values.put("Left IndexFinger", bioData);
+        values.put("Right IndexFinger", "aGVsbG8gaG93IGFyZSB5b3U");
+        values.put("Left MiddleFinger", "");
+
+        ConvertResponseDto result = convertPartial(values, "ISO19794_4_2011", "IMAGE/JPEG");
+
+        assertEquals(Set.of("Left IndexFinger"), result.getValues().keySet());
+        assertEquals(2, result.getErrors().size());
+        ConversionErrorDto emptyError = (ConversionErrorDto) result.getErrors().get(0);
+        assertEquals("Left MiddleFinger", emptyError.getKey());
+        assertEquals(ConverterErrorCode.SOURCE_CAN_NOT_BE_EMPTY_OR_NULL_EXCEPTION.getErrorCode(), emptyError.getErrorCode());
+        ConversionErrorDto invalidError = (ConversionErrorDto) result.getErrors().get(1);
+        assertEquals("Right IndexFinger", invalidError.getKey());
+        assertEquals(ConverterErrorCode.SOURCE_NOT_VALID_FINGER_ISO_FORMAT_EXCEPTION.getErrorCode(), invalidError.getErrorCode());
+    }
+
+    @Test
+    void testConvert_withResultCache_shouldServeRepeatedConversionFromCache() {
+        ConversionResultCache resultCache = new ConversionResultCache(true, 1024 * 1024, 60, null);
+        ConverterServiceImpl cachingService = new ConverterServiceImpl(null, resultCache, null, null, null, false);
+        Map<String, String> values = new HashMap<>();
+        values.put("Left IndexFinger", bioData);
+
+        Map<String, String> first = cachingService.convert(values, "ISO19794_4_2011", "IMAGE/JPEG", new HashMap<>(), new HashMap<>());
+        Map<String, String> second = cachingService.convert(values, "ISO19794_4_2011", "IMAGE/JPEG", new HashMap<>(), new HashMap<>());
+        cachingService.convert(values, "ISO19794_4_2011", "IMAGE/PNG", new HashMap<>(), new HashMap<>());
+
+        assertEquals(first, second);
+        assertEquals(1, resultCache.stats().hitCount());
+        assertEquals(2, resultCache.stats().missCount());
+    }
+
+    @Test
+    void testConvert_withMeterRegistry_shouldRecordStagesAndSizes() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConverterServiceImpl meteredService = new ConverterServiceImpl(null, null, new ConversionMetrics(meterRegistry), null, null, false);
+        Map<String, String> values = new HashMap<>();
+        values.put("Left IndexFinger", bioData);
+
+        meteredService.convert(values, "ISO19794_4_2011", "IMAGE/PNG", new HashMap<>(), new HashMap<>());
+        assertThrows(ConversionException.class, () -> meteredService.convert(Map.of("Left IndexFinger", "AAAA"),
+                "ISO19794_4_2011", "IMAGE/PNG", new HashMap<>(), new HashMap<>()));
+
+        assertEquals(1, meterRegistry.get(ConversionMetrics.CONVERSION_TIMER).tag("compression", "WSQ")
+                .tag("outcome", "success").timer().count());
+        for (ConversionMetrics.Stage stage : ConversionMetrics.Stage.values()) {
+            if (stage != ConversionMetrics.Stage.RESIZE)
+                assertEquals(1, meterRegistry.get(ConversionMetrics.STAGE_TIMER).tag("stage", stage.getTag())
+                        .tag("sourceFormat", "ISO19794_4_2011").tag("targetFormat", "IMAGE/PNG").tag("outcome", "success")
+                        .timer().count());
+        }
+        assertEquals(CommonUtil.decodeURLSafeBase64(bioData).length,
+                meterRegistry.get(ConversionMetrics.INPUT_SIZE).summary().totalAmount());
+        assertEquals(1, meterRegistry.get(ConversionMetrics.CONVERSION_TIMER)
+                .tag("outcome", ConverterErrorCode.SOURCE_NOT_VALID_FINGER_ISO_FORMAT_EXCEPTION.getErrorCode())
+                .timer().count());
+    }
+
+    @Test
+    void testConvertAsync_withInvalidEntry_shouldCompleteOnConversionPool() {
+        ConversionExecutor executor = new ConversionExecutor(false, 2);
+        ConverterServiceImpl asyncService = new ConverterServiceImpl(executor, null, null, null, null, false);
+        Map<String, SourceValue> values = new HashMap<>();
+        values.put("Left IndexFinger", SourceValue.ofBytes(CommonUtil.decodeURLSafeBase64(bioData)));
+        values.put("Right IndexFinger", SourceValue.ofBytes(CommonUtil.decodeURLSafeBase64("aGVsbG8gaG93IGFyZSB5b3U")));
+        ConversionOptions asyncOptions = ConversionOptions.defaults().withAsync(true);
+
+        try {
+            ConvertResponseDto response = asyncService.convert(values, "ISO19794_4_2011", "IMAGE/PNG", new HashMap<>(), new HashMap<>(),
+                    asyncOptions.withPartialFailure(true)).join();
+            CompletionException exception = assertThrows(CompletionException.class, () -> asyncService
+                    .convert(values, "ISO19794_4_2011", "IMAGE/PNG", new HashMap<>(), new HashMap<>(), asyncOptions).join());
+
+            assertEquals(Set.of("Left IndexFinger"), response.getValues().keySet());
+            assertEquals("Right IndexFinger", ((ConversionErrorDto) response.getErrors().get(0)).getKey());
+            assertEquals(ConverterErrorCode.SOURCE_NOT_VALID_FINGER_ISO_FORMAT_EXCEPTION.getErrorCode(),
+                    ((ConversionException) exception.getCause()).getErrorCode());
+            assertTrue(asyncService.convert(new HashMap<>(), "ISO19794_4_2011", "IMAGE/PNG", null, null, asyncOptions)
+                    .isCompletedExceptionally());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testConvert_withOffloadEnabled_shouldDecodeOnConversionPool() throws Exception {
+        ConversionExecutor executor = new ConversionExecutor(false, 1, true);
+        ImageDecoderRegistry imageDecoders = new ImageDecoderRegistry();
+        WsqImageDecoder wsqDecoder = new WsqImageDecoder();
+        List<String> decodingThreads = new ArrayList<>();
+        imageDecoders.register(SourceFormatCode.ISO19794_4_2011, FingerImageCompressionType.WSQ, (data, minimumSize) -> {
+            decodingThreads.add(Thread.currentThread().getName());
+            return wsqDecoder.decode(data, minimumSize);
+        });
+        ConverterServiceImpl offloadingService = new ConverterServiceImpl(executor, null, null, imageDecoders, null, false);
+        Map<String, String> values = new HashMap<>();
+        values.put("Left IndexFinger", bioData);
+
+        try {
+            Thread requestThread = Thread.ofVirtual().start(() -> offloadingService.convert(values, "ISO19794_4_2011",
+                    "IMAGE/JPEG", new HashMap<>(), new HashMap<>()));
+            requestThread.join();
+
+            assertEquals(1, decodingThreads.size());
+            assertTrue(decodingThreads.get(0).startsWith("bio-converter-"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testConvert_withAllRepresentations_shouldExpandMultiRepresentationRecord() {
+        IsoRecordLayout.Representation source = IsoRecordLayout.parse(SourceFormatCode.ISO19794_4_2011,
+                CommonUtil.decodeURLSafeBase64(bioData)).getRepresentations().get(0);
+        Map<String, String> values = Map.of("slap", CommonUtil.encodeToURLSafeBase64(twoFingerRecord()));
+
+        Map<String, String> all = converterService.convert(values, "ISO19794_4_2011", "IMAGE/PNG", new HashMap<>(), Map.of("representations", "all"));
+        Map<String, String> first = converterService.convert(values, "ISO19794_4_2011", "IMAGE/PNG", new HashMap<>(), new HashMap<>());
+
+        assertEquals(7, source.getPosition());
+        assertEquals(Set.of("slap_7", "slap_8"), all.keySet());
+        assertEquals(all.get("slap_7"), all.get("slap_8"));
+        assertEquals(Set.of("slap"), first.keySet());
+        assertEquals(first.get("slap"), all.get("slap_7"));
+        ConversionException exception = assertThrows(ConversionException.class, () -> converterService.convert(values,
+                "ISO19794_4_2011", "IMAGE/PNG", new HashMap<>(), Map.of("representations", "second")));
+        assertEquals(ConverterErrorCode.INVALID_TARGET_PARAMETER_EXCEPTION.getErrorCode(), exception.getErrorCode());
+    }
+
+    @Test
+    void testConvert_withAllRepresentationsAndTakenSplitKeys_shouldKeepRequestKeys() {
+        // the finger of the test record at half its size
+        String otherFinger = CommonUtil.encodeToURLSafeBase64(converterService.convertIsoToIsoBytes(
+                SourceFormatCode.ISO19794_4_2011, CommonUtil.decodeURLSafeBase64(bioData),
+                TargetFormatCode.ISO19794_4_2011_PNG, Map.of("width", "100")));
+        Map<String, String> values = new HashMap<>();
+        values.put("slap", CommonUtil.encodeToURLSafeBase64(twoFingerRecord()));
+        values.put("slap_7", otherFinger);
+        values.put("slap_7_1", otherFinger);
+
+        Map<String, String> all = converterService.convert(values, "ISO19794_4_2011", "IMAGE/PNG", new HashMap<>(), Map.of("representations", "all"));
+        String other = converterService.convert(Map.of("Finger", otherFinger), "ISO19794_4_2011", "IMAGE/PNG",
+                new HashMap<>(), new HashMap<>()).get("Finger");
+
+        assertEquals(Set.of("slap_7", "slap_7_1", "slap_7_2", "slap_8"), all.keySet());
+        assertEquals(other, all.get("slap_7"));
+        assertEquals(other, all.get("slap_7_1"));
+        assertNotEquals(other, all.get("slap_7_2"));
+        assertEquals(all.get("slap_7_2"), all.get("slap_8"));
+    }
+
+    @Test
+    void testConvertPartial_withAutoSourceFormat_shouldConvertEachModality() throws IOException {
+        Map<String, String> values = new HashMap<>();
+        values.put("Left IndexFinger", bioData);
+        values.put("Face", IOUtils.toString(new FileInputStream("src/test/resources/face.txt"), StandardCharsets.UTF_8));
+        values.put("Left Iris", IOUtils.toString(new FileInputStream("src/test/resources/iris.txt"), StandardCharsets.UTF_8));
+        values.put("Unknown", "aGVsbG8gaG93IGFyZSB5b3U");
+
+        ConvertResponseDto result = convertPartial(values, "AUTO", "IMAGE/PNG");
+
+        assertEquals(Set.of("Left IndexFinger", "Face", "Left Iris"), result.getValues().keySet());
+        assertEquals(converterService.convert(Map.of("Face", values.get("Face")), "ISO19794_5_2011", "IMAGE/PNG",
+                new HashMap<>(), new HashMap<>()).get("Face"), result.getValues().get("Face"));
+        assertEquals(1, result.getErrors().size());
+        ConversionErrorDto unknownError = (ConversionErrorDto) result.getErrors().get(0);
+        assertEquals("Unknown", unknownError.getKey());
+        assertEquals(ConverterErrorCode.INVALID_SOURCE_EXCEPTION.getErrorCode(), unknownError.getErrorCode());
+    }
+
+    @Test
+    void testConvert_withSaturatedLimiter_shouldRejectRequest() {
+        ConversionLimiter conversionLimiter = new ConversionLimiter(true, 1, 1, 1, 0, 0, 5);
+        ConverterServiceImpl limitedService = new ConverterServiceImpl(null, null, null, null, conversionLimiter, false);
+        Map<String, String> values = new HashMap<>();
+        values.put("Left IndexFinger", bioData);
+
+        ConversionRejectedException exception;
+        conversionLimiter.acquire(EnumSet.of(SourceFormatCode.ISO19794_4_2011));
+        try {
+            exception = assertThrows(ConversionRejectedException.class, () -> limitedService.convert(values,
+                    "ISO19794_4_2011", "IMAGE/JPEG", new HashMap<>(), new HashMap<>()));
+        } finally {
+            conversionLimiter.release(EnumSet.of(SourceFormatCode.ISO19794_4_2011));
+        }
+
+        assertEquals(ConverterErrorCode.CONVERSION_CAPACITY_EXCEEDED_EXCEPTION.getErrorCode(), exception.getErrorCode());
+        assertEquals(5, exception.getRetryAfterSeconds());
+        assertEquals(1, limitedService.convert(values, "ISO19794_4_2011", "IMAGE/JPEG", new HashMap<>(), new HashMap<>()).size());
+        assertEquals(1, conversionLimiter.getAvailablePermits(SourceFormatCode.ISO19794_4_2011));
+        assertEquals(-1, new ConversionLimiter().getAvailablePermits(SourceFormatCode.ISO19794_4_2011));
+    }
+
+    @Test
+    void testConvert_withAutoSourceFormat_shouldAdmitOncePerModality() throws IOException {
+        ConversionLimiter conversionLimiter = new ConversionLimiter(true, 1, 1, 1, 0, 0, 5);
+        ConversionExecutor executor = new ConversionExecutor(true, 2);
+        ConverterServiceImpl limitedService = new ConverterServiceImpl(executor, null, null, null, conversionLimiter, false);
+        Map<String, String> values = new HashMap<>();
+        values.put("Left IndexFinger", bioData);
+        values.put("Right IndexFinger", bioData);
+        values.put("Face", IOUtils.toString(new FileInputStream("src/test/resources/face.txt"), StandardCharsets.UTF_8));
+
+        try {
+            assertEquals(3, limitedService.convert(values, "AUTO", "IMAGE/PNG", new HashMap<>(), new HashMap<>()).size());
+            conversionLimiter.acquire(EnumSet.of(SourceFormatCode.ISO19794_5_2011));
+            try {
+                assertThrows(ConversionRejectedException.class,
+                        () -> limitedService.convert(values, "AUTO", "IMAGE/PNG", new HashMap<>(), new HashMap<>()));
+                assertEquals(1, limitedService.convert(Map.of("Left IndexFinger", bioData), "AUTO", "IMAGE/PNG",
+                        new HashMap<>(), new HashMap<>()).size());
+            } finally {
+                conversionLimiter.release(EnumSet.of(SourceFormatCode.ISO19794_5_2011));
+            }
+            assertEquals(1, conversionLimiter.getAvailablePermits(SourceFormatCode.ISO19794_4_2011));
+            assertEquals(1, conversionLimiter.getAvailablePermits(SourceFormatCode.ISO19794_5_2011));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testConvertBatch_withMoreItemsThanWorkersAndPermits_shouldAdmitBatchOnce() throws IOException {
+        ConversionLimiter conversionLimiter = new ConversionLimiter(true, 1, 1, 1, 0, 0, 5);
+        ConversionExecutor executor = new ConversionExecutor(true, 2);
+        ConverterServiceImpl limitedService = new ConverterServiceImpl(executor, null, null, null, conversionLimiter, false);
+        String faceData = IOUtils.toString(new FileInputStream("src/test/resources/face.txt"), StandardCharsets.UTF_8);
+        List<ConvertRequestDto> items = new ArrayList<>();
+        for (int index = 0; index < 5; index++)
+            items.add(new ConvertRequestDto(Map.of("Left IndexFinger", bioData), "ISO19794_4_2011", "IMAGE/PNG", null, null));
+        items.add(new ConvertRequestDto(Map.of("Face", faceData), "ISO19794_5_2011", "IMAGE/PNG", null, null));
+        items.add(new ConvertRequestDto(Map.of("Face", faceData), "INVALID", "IMAGE/PNG", null, null));
+
+        try {
+            List<ConvertResponseDto> responses = limitedService.convertBatch(items, false);
+            ConversionRejectedException exception;
+            conversionLimiter.acquire(EnumSet.of(SourceFormatCode.ISO19794_5_2011));
+            try {
+                exception = assertThrows(ConversionRejectedException.class,
+                        () -> limitedService.convertBatch(items.subList(4, 6), false));
+            } finally {
+                conversionLimiter.release(EnumSet.of(SourceFormatCode.ISO19794_5_2011));
+            }
+
+            assertEquals(7, responses.size());
+            for (ConvertResponseDto response : responses.subList(0, 6)) {
+                assertTrue(response.getErrors().isEmpty());
+                assertEquals(1, response.getValues().size());
+            }
+            assertEquals(ConverterErrorCode.INVALID_SOURCE_EXCEPTION.getErrorCode(), responses.get(6).getErrors().get(0).getErrorCode());
+            assertEquals(5, exception.getRetryAfterSeconds());
+            assertEquals(1, conversionLimiter.getAvailablePermits(SourceFormatCode.ISO19794_4_2011));
+            assertEquals(1, conversionLimiter.getAvailablePermits(SourceFormatCode.ISO19794_5_2011));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testConvertIsoToIsoBytes_withFingerWsq_shouldRewriteImageDataBlock() {
+        byte[] isoData = CommonUtil.decodeURLSafeBase64(bioData);
+
+        byte[] result = converterService.convertIsoToIsoBytes(SourceFormatCode.ISO19794_4_2011, isoData, TargetFormatCode.ISO19794_4_2011_PNG, new HashMap<>());
+
+        IsoRecordLayout.Representation representation = IsoRecordLayout.parse(SourceFormatCode.ISO19794_4_2011, result)
+                .getRepresentations().get(0);
+        IsoRecordLayout.Representation source = IsoRecordLayout.parse(SourceFormatCode.ISO19794_4_2011, isoData)
+                .getRepresentations().get(0);
+        assertEquals(FingerImageCompressionType.PNG, representation.getImageType());
+        assertEquals(source.getWidth(), representation.getWidth());
+        assertEquals(source.getHeight(), representation.getHeight());
+        assertEquals(result.length, representation.getImageOffset() + representation.getImageLength());
+        assertEquals(0x89, result[representation.getImageOffset()] & 0xFF);
+    }
+
+    @Test
+    void testConvertFaceIsoToImageBytes_withEmbeddedJpeg_shouldPassImageThrough() throws IOException {
+        byte[] jp2IsoData = CommonUtil.decodeURLSafeBase64(IOUtils.toString(new FileInputStream("src/test/resources/face.txt"), StandardCharsets.UTF_8));
+        byte[] jpegIsoData = converterService.convertIsoToIsoBytes(SourceFormatCode.ISO19794_5_2011, jp2IsoData, TargetFormatCode.ISO19794_5_2011_JPEG, new HashMap<>());
+        IsoRecordLayout.Representation representation = IsoRecordLayout.parse(SourceFormatCode.ISO19794_5_2011, jpegIsoData)
+                .getRepresentations().get(0);
+        byte[] embeddedImage = Arrays.copyOfRange(jpegIsoData, representation.getImageOffset(),
+                representation.getImageOffset() + representation.getImageLength());
+
+        byte[] jpeg = converterService.convertFaceIsoToImageBytes(SourceFormatCode.ISO19794_5_2011, jpegIsoData, TargetFormatCode.IMAGE_JPEG, new HashMap<>());
+        byte[] reencoded = converterService.convertFaceIsoToImageBytes(SourceFormatCode.ISO19794_5_2011, jpegIsoData, TargetFormatCode.IMAGE_JPEG, Map.of("quality", "50"));
+        byte[] png = converterService.convertFaceIsoToImageBytes(SourceFormatCode.ISO19794_5_2011, jpegIsoData, TargetFormatCode.IMAGE_PNG, new HashMap<>());
+        byte[] isoResult = converterService.convertIsoToIsoBytes(SourceFormatCode.ISO19794_5_2011, jpegIsoData, TargetFormatCode.ISO19794_5_2011_JPEG, new HashMap<>());
+
+        assertEquals(ImageDataType.JPEG, representation.getImageType());
+        assertTrue(Arrays.equals(embeddedImage, jpeg));
+        assertTrue(!Arrays.equals(embeddedImage, reencoded));
+        assertEquals(240, ImageIO.read(new ByteArrayInputStream(png)).getWidth());
+        assertTrue(Arrays.equals(jpegIsoData, isoResult));
+    }
+
+    @Test
+    void testConvertFaceIsoToImageBytes_withEmbeddedPng_shouldNotPassImageThrough() throws IOException {
+        byte[] jp2IsoData = CommonUtil.decodeURLSafeBase64(IOUtils.toString(new FileInputStream("src/test/resources/face.txt"), StandardCharsets.UTF_8));
+        byte[] png = converterService.convertFaceIsoToImageBytes(SourceFormatCode.ISO19794_5_2011, jp2IsoData, TargetFormatCode.IMAGE_PNG, new HashMap<>());
+        IsoRecordLayout.Representation representation = IsoRecordLayout.parse(SourceFormatCode.ISO19794_5_2011, jp2IsoData)
+                .getRepresentations().get(0);
+        byte[] pngIsoData = IsoRecordLayout.replaceImage(jp2IsoData, representation, png, ImageDataType.PNG);
+
+        ConversionException exception = assertThrows(ConversionException.class, () -> converterService.convertFaceIsoToImageBytes(
+                SourceFormatCode.ISO19794_5_2011, pngIsoData, TargetFormatCode.IMAGE_PNG, new HashMap<>()));
+
+        assertEquals(ConverterErrorCode.NOT_SUPPORTED_COMPRESSION_TYPE.getErrorCode(), exception.getErrorCode());
+    }
+
+    @Test
+    void testConvertFingerIsoToImageBytes_withWidth_shouldResizeKeepingAspectRatio() throws IOException {
+        byte[] isoData = CommonUtil.decodeURLSafeBase64(bioData);
+        IsoRecordLayout.Representation source = IsoRecordLayout.parse(SourceFormatCode.ISO19794_4_2011, isoData)
+                .getRepresentations().get(0);
+        Map<String, String> targetParams = new HashMap<>();
+        targetParams.put("width", "100");
+
+        byte[] result = converterService.convertFingerIsoToImageBytes(SourceFormatCode.ISO19794_4_2011, isoData, TargetFormatCode.IMAGE_PNG, targetParams);
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(result));
+        assertEquals(100, image.getWidth());
+        assertEquals(Math.round(source.getHeight() * 100.0 / source.getWidth()), image.getHeight());
+        ConversionException exception = assertThrows(ConversionException.class, () -> converterService.convertFingerIsoToImageBytes(
+                SourceFormatCode.ISO19794_4_2011, isoData, TargetFormatCode.IMAGE_PNG, Map.of("width", "10000")));
+        assertEquals(ConverterErrorCode.INVALID_TARGET_PARAMETER_EXCEPTION.getErrorCode(), exception.getErrorCode());
+    }
+
+    @Test
+    void testConvertIsoToIsoBytes_withRawFingerImage_shouldWrapRecordPixels() throws IOException {
+        byte[] wsqIsoData = CommonUtil.decodeURLSafeBase64(bioData);
+        IsoRecordLayout.Representation source = IsoRecordLayout.parse(SourceFormatCode.ISO19794_4_2011, wsqIsoData)
+                .getRepresentations().get(0);
+        BufferedImage image = converterService.decodeFingerImage(Arrays.copyOfRange(wsqIsoData, source.getImageOffset(),
+                source.getImageOffset() + source.getImageLength()), FingerImageCompressionType.WSQ);
+        byte[] pixels = Arrays.copyOf(((DataBufferByte) image.getRaster().getDataBuffer()).getData(), image.getWidth() * image.getHeight());
+        byte[] rawIsoData = IsoRecordLayout.replaceImage(wsqIsoData, source, pixels, FingerImageCompressionType.NONE_NO_BIT_PACKING);
+        IsoRecordLayout.Representation raw = IsoRecordLayout.parse(SourceFormatCode.ISO19794_4_2011, rawIsoData)
+                .getRepresentations().get(0);
+
+        BufferedImage wrapped = RawImageDecoder.decode(rawIsoData, raw, false);
+        byte[] result = converterService.convertIsoToIsoBytes(SourceFormatCode.ISO19794_4_2011, rawIsoData, TargetFormatCode.ISO19794_4_2011_PNG, new HashMap<>());
+        IsoRecordLayout.Representation representation = IsoRecordLayout.parse(SourceFormatCode.ISO19794_4_2011, result)
+                .getRepresentations().get(0);
+        BufferedImage png = ImageIO.read(new ByteArrayInputStream(Arrays.copyOfRange(result, representation.getImageOffset(),
+                representation.getImageOffset() + representation.getImageLength())));
+
+        assertEquals(8, raw.getBitDepth());
+        assertTrue(rawIsoData == ((DataBufferByte) wrapped.getRaster().getDataBuffer()).getData());
+        assertEquals(FingerImageCompressionType.PNG, representation.getImageType());
+        assertEquals(image.getWidth(), png.getWidth());
+        assertEquals(image.getHeight(), png.getHeight());
+        assertEquals(image.getRaster().getSample(140, 224, 0), png.getRaster().getSample(140, 224, 0));
+    }
+
+    @Test
+    void testConvertFingerIsoToImageBytes_withIsoValidation_shouldMatchHeaderScan() throws IOException {
+        byte[] isoData = CommonUtil.decodeURLSafeBase64(bioData);
+        byte[] faceIsoData = CommonUtil.decodeURLSafeBase64(IOUtils.toString(new FileInputStream("src/test/resources/face.txt"), StandardCharsets.UTF_8));
+        byte[] invalidData = CommonUtil.decodeURLSafeBase64("aGVsbG8gaG93IGFyZSB5b3U");
+        ConverterServiceImpl validatingService = new ConverterServiceImpl(null, null, null, null, null, true);
+        IsoRecordLayout.Representation face = IsoRecordLayout.parse(SourceFormatCode.ISO19794_5_2011, faceIsoData)
+                .getRepresentations().get(0);
+
+        byte[] scanned = converterService.convertFingerIsoToImageBytes(SourceFormatCode.ISO19794_4_2011, isoData, TargetFormatCode.IMAGE_PNG, new HashMap<>());
+        byte[] validated = validatingService.convertFingerIsoToImageBytes(SourceFormatCode.ISO19794_4_2011, isoData, TargetFormatCode.IMAGE_PNG, new HashMap<>());
+        BufferedImage inPlace = Jpeg2000Decoder.decode(faceIsoData, face.getImageOffset(), face.getImageLength(), null);
+
+        assertTrue(Arrays.equals(scanned, validated));
+        assertEquals(240, inPlace.getWidth());
+        for (ConverterServiceImpl service : List.of(converterService, validatingService)) {
+            ConversionException exception = assertThrows(ConversionException.class, () -> service.convertFingerIsoToImageBytes(
+                    SourceFormatCode.ISO19794_4_2011, invalidData, TargetFormatCode.IMAGE_PNG, new HashMap<>()));
+            assertEquals(ConverterErrorCode.SOURCE_NOT_VALID_FINGER_ISO_FORMAT_EXCEPTION.getErrorCode(), exception.getErrorCode());
+        }
+    }
+
+    @Test
+    void testConvertIsoToIsoBytes_withDpi_shouldRewriteImageSizeAndSamplingRate() {
+        byte[] isoData = CommonUtil.decodeURLSafeBase64(bioData);
+        IsoRecordLayout.Representation source = IsoRecordLayout.parse(SourceFormatCode.ISO19794_4_2011, isoData)
+                .getRepresentations().get(0);
+        Map<String, String> targetParams = new HashMap<>();
+        targetParams.put("dpi", String.valueOf(source.getResolution() / 2));
+        targetParams.put("scaleMode", "quality");
+
+        byte[] result = converterService.convertIsoToIsoBytes(SourceFormatCode.ISO19794_4_2011, isoData, TargetFormatCode.ISO19794_4_2011_PNG, targetParams);
+
+        IsoRecordLayout.Representation representation = IsoRecordLayout.parse(SourceFormatCode.ISO19794_4_2011, result)
+                .getRepresentations().get(0);
+        assertEquals(Math.round(source.getWidth() / 2.0), representation.getWidth(), 1);
+        assertEquals(Math.round(source.getHeight() / 2.0), representation.getHeight(), 1);
+        assertEquals(source.getResolution() / 2.0, representation.getResolution(), 1);
+    }
+
+    @Test
+    void testConvertIsoToIsoBytes_withFaceOrIrisResize_shouldRejectRequest() throws IOException {
+        byte[] isoData = CommonUtil.decodeURLSafeBase64(IOUtils.toString(new FileInputStream("src/test/resources/face.txt"), StandardCharsets.UTF_8));
+        byte[] irisIsoData = CommonUtil.decodeURLSafeBase64(IOUtils.toString(new FileInputStream("src/test/resources/iris.txt"), StandardCharsets.UTF_8));
+
+        for (String parameter : List.of("width", "height", "dpi")) {
+            ConversionException exception = assertThrows(ConversionException.class, () -> converterService.convertIsoToIsoBytes(
+                    SourceFormatCode.ISO19794_5_2011, isoData, TargetFormatCode.ISO19794_5_2011_JPEG, Map.of(parameter, "100")));
+            assertEquals(ConverterErrorCode.INVALID_TARGET_PARAMETER_EXCEPTION.getErrorCode(), exception.getErrorCode());
+        }
+        ConversionException exception = assertThrows(ConversionException.class, () -> converterService.convertIsoToIsoBytes(
+                SourceFormatCode.ISO19794_6_2011, irisIsoData, TargetFormatCode.ISO19794_6_2011_PNG, Map.of("width", "100")));
+        assertEquals(ConverterErrorCode.INVALID_TARGET_PARAMETER_EXCEPTION.getErrorCode(), exception.getErrorCode());
+        assertNotNull(converterService.convertIsoToIsoBytes(SourceFormatCode.ISO19794_5_2011, isoData,
+                TargetFormatCode.ISO19794_5_2011_JPEG, Map.of("quality", "50")));
+    }
+
+    @Test
+    void testWsqImageDecoder_shouldWrapDecodedPixelsInGrayImage() throws IOException {
+        byte[] isoData = CommonUtil.decodeURLSafeBase64(bioData);
+        IsoRecordLayout.Representation source = IsoRecordLayout.parse(SourceFormatCode.ISO19794_4_2011, isoData)
+                .getRepresentations().get(0);
+        byte[] wsqImage = Arrays.copyOfRange(isoData, source.getImageOffset(), source.getImageOffset() + source.getImageLength());
+
+        BufferedImage image = new WsqImageDecoder().decode(wsqImage, null);
+        byte[] pixels = new byte[source.getWidth() * source.getHeight()];
+        BufferedImage wrapped = WsqImageDecoder.toGrayImage(pixels, source.getWidth(), source.getHeight());
+
+        assertEquals(BufferedImage.TYPE_BYTE_GRAY, image.getType());
+        assertEquals(source.getWidth(), image.getWidth());
+        assertEquals(source.getHeight(), image.getHeight());
+        assertTrue(pixels == ((DataBufferByte) wrapped.getRaster().getDataBuffer()).getData());
+        assertThrows(IOException.class, () -> WsqImageDecoder.toGrayImage(new byte[10], 4, 4));
+    }
+
+    @Test
+    void testJpeg2000Decoder_withMinimumSize_shouldDecodeReducedResolution() throws IOException {
+        byte[] isoData = CommonUtil.decodeURLSafeBase64(IOUtils.toString(new FileInputStream("src/test/resources/face.txt"), StandardCharsets.UTF_8));
+        IsoRecordLayout.Representation source = IsoRecordLayout.parse(SourceFormatCode.ISO19794_5_2011, isoData)
+                .getRepresentations().get(0);
+        byte[] faceImage = Arrays.copyOfRange(isoData, source.getImageOffset(), source.getImageOffset() + source.getImageLength());
+
+        BufferedImage fullImage = Jpeg2000Decoder.decode(faceImage, null);
+        BufferedImage reducedImage = Jpeg2000Decoder.decode(faceImage, new Dimension(50, 50));
+
+        assertEquals(source.getWidth(), fullImage.getWidth());
+        assertTrue(reducedImage.getWidth() < fullImage.getWidth());
+        assertTrue(reducedImage.getWidth() >= 50 && reducedImage.getHeight() >= 50);
+    }
+
+    @Test
+    void testImageDecoderRegistry_shouldRegisterDecoderOfEachCompressionType() {
+        ImageDecoderRegistry imageDecoders = new ImageDecoderRegistry();
+
+        assertTrue(imageDecoders.getDecoder(SourceFormatCode.ISO19794_4_2011, FingerImageCompressionType.WSQ) instanceof WsqImageDecoder);
+        assertTrue(imageDecoders.getDecoder(SourceFormatCode.ISO19794_5_2011, ImageDataType.JPEG2000_LOSSY) instanceof ImageIoJpeg2000Decoder);
+        assertTrue(imageDecoders.getDecoder(SourceFormatCode.ISO19794_6_2011, ImageFormat.MONO_JPEG2000) instanceof ImageIoJpeg2000Decoder);
+        assertTrue(imageDecoders.getDecoder(SourceFormatCode.ISO19794_5_2011, ImageDataType.JPEG) instanceof ImageIoImageDecoder);
+        assertNull(imageDecoders.getDecoder(SourceFormatCode.ISO19794_5_2011, ImageDataType.PNG));
+    }
+
+    @Test
+    void testConvertFaceIsoToImageBytes_withWidthAndHeight_shouldProduceThumbnail() throws IOException {
+        byte[] isoData = CommonUtil.decodeURLSafeBase64(IOUtils.toString(new FileInputStream("src/test/resources/face.txt"), StandardCharsets.UTF_8));
+        Map<String, String> targetParams = new HashMap<>();
+        targetParams.put("width", "60");
+        targetParams.put("height", "60");
+
+        byte[] result = converterService.convertFaceIsoToImageBytes(SourceFormatCode.ISO19794_5_2011, isoData, TargetFormatCode.IMAGE_JPEG, targetParams);
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(result));
+        assertTrue(image.getWidth() <= 60 && image.getHeight() <= 60);
+        assertTrue(image.getWidth() == 60 || image.getHeight() == 60);
+    }
+
+    @Test
+    void testConvertFaceIsoToImageBytes_withEncodeParameters_shouldApplyThem() throws IOException {
+        byte[] isoData = CommonUtil.decodeURLSafeBase64(IOUtils.toString(new FileInputStream("src/test/resources/face.txt"), StandardCharsets.UTF_8));
+
+        byte[] lowQuality = converterService.convertFaceIsoToImageBytes(SourceFormatCode.ISO19794_5_2011, isoData, TargetFormatCode.IMAGE_JPEG, Map.of("quality", "20"));
+        byte[] highQuality = converterService.convertFaceIsoToImageBytes(SourceFormatCode.ISO19794_5_2011, isoData, TargetFormatCode.IMAGE_JPEG, Map.of("quality", "95"));
+        byte[] progressive = converterService.convertFaceIsoToImageBytes(SourceFormatCode.ISO19794_5_2011, isoData, TargetFormatCode.IMAGE_JPEG,
+                Map.of("progressive", "true", "optimizeHuffman", "true", "chromaSubsampling", "444"));
+        byte[] storedPng = converterService.convertFaceIsoToImageBytes(SourceFormatCode.ISO19794_5_2011, isoData, TargetFormatCode.IMAGE_PNG, Map.of("compressionLevel", "0"));
+        byte[] defaultPng = converterService.convertFaceIsoToImageBytes(SourceFormatCode.ISO19794_5_2011, isoData, TargetFormatCode.IMAGE_PNG, new HashMap<>());
+
+        assertTrue(lowQuality.length < highQuality.length);
+        assertTrue(containsMarker(progressive, (byte) 0xC2));
+        assertEquals(240, ImageIO.read(new ByteArrayInputStream(progressive)).getWidth());
+        assertTrue(storedPng.length > defaultPng.length);
+        ConversionException exception = assertThrows(ConversionException.class, () -> converterService.convertFaceIsoToImageBytes(
+                SourceFormatCode.ISO19794_5_2011, isoData, TargetFormatCode.IMAGE_JPEG, Map.of("quality", "0")));
+        assertEquals(ConverterErrorCode.INVALID_TARGET_PARAMETER_EXCEPTION.getErrorCode(), exception.getErrorCode());
+    }
+
+    private static boolean containsMarker(byte[] jpeg, byte marker) {
+        for (int index = 0; index < jpeg.length - 1; index++) {
+            if (jpeg[index] == (byte) 0xFF && jpeg[index + 1] == marker)
+                return true;
+        }
+        return false;
+    }
+
+    @Test
+    void testImageCodecPool_withReusedWriterAndReader_shouldRoundTripImages() throws IOException {
+        BufferedImage image = new BufferedImage(50, 40, BufferedImage.TYPE_BYTE_GRAY);
+        byte[] faceIsoData = CommonUtil.decodeURLSafeBase64(IOUtils.toString(new FileInputStream("src/test/resources/face.txt"), StandardCharsets.UTF_8));
+        IsoRecordLayout.Representation face = IsoRecordLayout.parse(SourceFormatCode.ISO19794_5_2011, faceIsoData)
+                .getRepresentations().get(0);
+
+        for (int index = 0; index < 2; index++) {
+            byte[] jpeg = ImageCodecPool.write(ImageCodecPool.JPEG, image);
+            byte[] png = ImageCodecPool.write(ImageCodecPool.PNG, image);
+
+            assertEquals(0xFFD8FFE0, ((jpeg[0] & 0xFF) << 24) | ((jpeg[1] & 0xFF) << 16) | ((jpeg[2] & 0xFF) << 8) | (jpeg[3] & 0xFF));
+            assertEquals(50, ImageCodecPool.read(ImageCodecPool.JPEG, jpeg).getWidth());
+            assertEquals(40, ImageCodecPool.read(ImageCodecPool.PNG, png).getHeight());
+            assertEquals(240, ImageCodecPool.read(ImageCodecPool.JPEG2000, faceIsoData, face.getImageOffset(),
+                    face.getImageLength(), null).getWidth());
+        }
+        assertTrue(!ImageIO.getUseCache());
+    }
+
+    @Test
+    void testImageCodecPool_withReusedReader_shouldDecodeEachImage() throws IOException {
+        byte[] faceIsoData = CommonUtil.decodeURLSafeBase64(IOUtils.toString(new FileInputStream("src/test/resources/face.txt"), StandardCharsets.UTF_8));
+        IsoRecordLayout.Representation face = IsoRecordLayout.parse(SourceFormatCode.ISO19794_5_2011, faceIsoData)
+                .getRepresentations().get(0);
+        BufferedImage small = new BufferedImage(30, 20, BufferedImage.TYPE_BYTE_GRAY);
+        BufferedImage large = new BufferedImage(60, 50, BufferedImage.TYPE_BYTE_GRAY);
+        byte[] smallJpeg = ImageCodecPool.write(ImageCodecPool.JPEG, small);
+        byte[] largeJpeg = ImageCodecPool.write(ImageCodecPool.JPEG, large);
+        byte[] smallJp2 = ImageCodecPool.write(ImageCodecPool.JPEG2000, small);
+
+        for (int index = 0; index < 3; index++) {
+            assertEquals(60, ImageCodecPool.read(ImageCodecPool.JPEG, largeJpeg).getWidth());
+            assertEquals(20, ImageCodecPool.read(ImageCodecPool.JPEG, smallJpeg).getHeight());
+            assertEquals(240, ImageCodecPool.read(ImageCodecPool.JPEG2000, faceIsoData, face.getImageOffset(),
+                    face.getImageLength(), null).getWidth());
+            assertEquals(30, ImageCodecPool.read(ImageCodecPool.JPEG2000, smallJp2).getWidth());
+        }
+    }
+
+    @Test
+    void testConvert_withInvalidTargetParameter_shouldThrowException() {
+        Map<String, String> values = new HashMap<>();
+        values.put("Left IndexFinger", bioData);
+        Map<String, String> targetParams = new HashMap<>();
+        targetParams.put("width", "-1");
+
+        ConversionException exception = assertThrows(ConversionException.class, () -> {
+            converterService.convert(values, "ISO19794_4_2011", "IMAGE/JPEG", new HashMap<>(), targetParams);
+        });
+        assertEquals(ConverterErrorCode.INVALID_TARGET_PARAMETER_EXCEPTION.getErrorCode(), exception.getErrorCode());
+    }
+
+    @Test
+    void testConvert_withIsoTargetOfOtherModality_shouldThrowException() {
+        Map<String, String> values = new HashMap<>();
+        values.put("Left IndexFinger", bioData);
+
+        ConversionException exception = assertThrows(ConversionException.class, () -> {
+            converterService.convert(values, "ISO19794_4_2011", "ISO19794_6_2011/PNG", new HashMap<>(), new HashMap<>());
+        });
+        assertEquals(ConverterErrorCode.TARGET_FORMAT_EXCEPTION.getErrorCode(), exception.getErrorCode());
+    }
+
     @Test
     void testConvert_withUnsupportedSourceFormat_shouldThrowException() {
         Map<String, String> values = new HashMap<>();
@@ -173,4 +806,26 @@ class ConverterServiceImplTest {
 
         assertEquals(ConverterErrorCode.COULD_NOT_READ_ISO_IMAGE_DATA_EXCEPTION.getErrorCode(), exception.getErrorCode());
     }
-}
\ No newline at end of file
+
+    /**
+     * Builds a finger record of two representations, the finger of the test
+     * record at finger position 7 and a copy of it at finger position 8.
+     */
+    private byte[] twoFingerRecord() {
+        byte[] isoData = CommonUtil.decodeURLSafeBase64(bioData);
+        IsoRecordLayout.Representation source = IsoRecordLayout.parse(SourceFormatCode.ISO19794_4_2011, isoData)
+                .getRepresentations().get(0);
+        byte[] twoFingers = Arrays.copyOf(isoData, isoData.length + source.getLength());
+        System.arraycopy(isoData, source.getOffset(), twoFingers, isoData.length, source.getLength());
+        twoFingers[isoData.length + source.getImageTypeOffset() - 12 - source.getOffset()] = 8;
+        ByteBuffer.wrap(twoFingers).putInt(8, twoFingers.length).putShort(12, (short) 2);
+        return twoFingers;
+    }
+
+    private ConvertResponseDto convertPartial(Map<String, String> values, String sourceFormat, String targetFormat) {
+        Map<String, SourceValue> sourceValues = new HashMap<>();
+        values.forEach((key, value) -> sourceValues.put(key, SourceValue.ofEncoded(value)));
+        return IConverterApi.join(converterService.convert(sourceValues, sourceFormat, targetFormat, new HashMap<>(),
+                new HashMap<>(), ConversionOptions.defaults().withPartialFailure(true)));
+    }
+}
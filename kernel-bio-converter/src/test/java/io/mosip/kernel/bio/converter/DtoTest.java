@@ -1,17 +1,30 @@
 package io.mosip.kernel.bio.converter;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
 import org.junit.jupiter.api.Test;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
 import io.mosip.kernel.bio.converter.dto.ConvertRequestDto;
+import io.mosip.kernel.bio.converter.dto.DecodedConvertRequestDto;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+import io.mosip.kernel.bio.converter.service.ConversionOptions;
+import io.mosip.kernel.bio.converter.service.IConverterApi;
+import io.mosip.kernel.bio.converter.service.impl.ConverterServiceImpl;
 
 class DtoTest {
 	@Test
@@ -86,4 +99,57 @@ class DtoTest {
 
 		assertTrue(dto.toString().contains("ConvertRequestDto(values="));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDecodedConvertRequestDto_shouldDecodeBase64UrlValuesWhileParsing() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        String req = "{\"values\":{\"unpadded\":\"aGVsbG8gaG93IGFyZSB5b3U\",\"padded\":\"aGVsbG8gaG93IGFyZSB5b3U=\","
+                + "\"urlSafe\":\"-_8\",\"missing\":null},\"sourceFormat\":\"ISO19794_4_2011\",\"targetFormat\":\"IMAGE/JPEG\"}";
+
+        DecodedConvertRequestDto dto = mapper.readValue(req, DecodedConvertRequestDto.class);
+
+        assertArrayEquals("hello how are you".getBytes(StandardCharsets.UTF_8), dto.getValues().get("unpadded").decode());
+        assertArrayEquals("hello how are you".getBytes(StandardCharsets.UTF_8), dto.getValues().get("padded").decode());
+        assertArrayEquals(new byte[] { (byte) 0xFB, (byte) 0xFF }, dto.getValues().get("urlSafe").decode());
+        assertNull(dto.getValues().get("missing"));
+        assertEquals("ISO19794_4_2011", dto.getSourceFormat());
+    }
+
+    @Test
+    void testDecodedConvertRequestDto_withInvalidBase64_shouldKeepTheDecodeErrorPerValue() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        String req = "{\"values\":{\"Left Thumb\":\"12SGVsbGxyz8gd29ybGQ=\",\"Right Thumb\":\"validData\","
+                + "\"Left Index\":\"ab$c\",\"Right Index\":\"aGVsbG8gaG93IGFyZSB5b3U\"},\"sourceFormat\":\"ISO19794_4_2011\"}";
+
+        for (DecodedConvertRequestDto dto : List.of(mapper.readValue(req, DecodedConvertRequestDto.class),
+                mapper.readValue(req.getBytes(StandardCharsets.UTF_8), DecodedConvertRequestDto.class))) {
+            for (String key : List.of("Left Thumb", "Right Thumb", "Left Index")) {
+                ConversionException exception = assertThrows(ConversionException.class,
+                        () -> dto.getValues().get(key).decode());
+                assertEquals(ConverterErrorCode.SOURCE_NOT_VALID_BASE64URLENCODED_EXCEPTION.getErrorCode(),
+                        exception.getErrorCode());
+            }
+            assertArrayEquals("hello how are you".getBytes(StandardCharsets.UTF_8),
+                    dto.getValues().get("Right Index").decode());
+            assertEquals("ISO19794_4_2011", dto.getSourceFormat());
+        }
+    }
+
+    @Test
+    void testDecodedConvertRequestDto_withBlankValue_shouldKeepAnEmptyValue() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        String req = "{\"values\":{\"long\":\"aGVsbG8gaG93IGFyZSB5b3U\",\"blank\":\"   \",\"empty\":\"\",\"short\":\"aGk\"},"
+                + "\"sourceFormat\":\"ISO19794_4_2011\",\"targetFormat\":\"IMAGE/JPEG\"}";
+
+        DecodedConvertRequestDto dto = mapper.readValue(req, DecodedConvertRequestDto.class);
+
+        assertTrue(dto.getValues().get("blank").isEmpty());
+        assertTrue(dto.getValues().get("empty").isEmpty());
+        assertArrayEquals("hello how are you".getBytes(StandardCharsets.UTF_8), dto.getValues().get("long").decode());
+        assertArrayEquals("hi".getBytes(StandardCharsets.UTF_8), dto.getValues().get("short").decode());
+        ConversionException exception = assertThrows(ConversionException.class,
+                () -> IConverterApi.join(new ConverterServiceImpl().convert(Map.of("blank", dto.getValues().get("blank")),
+                        dto.getSourceFormat(), dto.getTargetFormat(), null, null, ConversionOptions.defaults())));
+        assertEquals(ConverterErrorCode.SOURCE_CAN_NOT_BE_EMPTY_OR_NULL_EXCEPTION.getErrorCode(), exception.getErrorCode());
+    }
+}
@@ -2,41 +2,40 @@ package io.mosip.kernel.bio.converter;
 
 import static org.junit.Assert.assertNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.util.ContentCachingRequestWrapper;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
 import io.mosip.kernel.bio.converter.exception.ConversionException;
 import io.mosip.kernel.bio.converter.exception.ConversionExceptionAdvice;
+import io.mosip.kernel.bio.converter.exception.ConversionRejectedException;
+import io.mosip.kernel.bio.converter.exception.RequestIdentityAdvice;
+import io.mosip.kernel.bio.converter.exception.RequestIdentityAdvice.RequestIdentity;
 import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.http.ResponseWrapper;
 import jakarta.servlet.http.HttpServletRequest;
 
 class ExceptionTest {
-	@Mock
-	private ObjectMapper objectMapper;
-
-	@InjectMocks
 	private ConversionExceptionAdvice advice;
 
 	@BeforeEach
 	void setUp() {
-		MockitoAnnotations.openMocks(this);
+		advice = new ConversionExceptionAdvice(new ObjectMapper());
 	}
 
 	@Test
@@ -75,15 +74,39 @@ class ExceptionTest {
 		assertTrue(exception.getMessage().contains(errorMessage));
 	}
 
+	@Test
+	void testConversionExceptionAdvice_withRejectedConversion_shouldReturnServiceUnavailable() throws Exception {
+		HttpServletRequest request = mock(ContentCachingRequestWrapper.class);
+		when(request.getAttribute(RequestIdentityAdvice.REQUEST_IDENTITY_ATTRIBUTE))
+				.thenReturn(new RequestIdentity("123", "1.0"));
+
+		ResponseEntity<ResponseWrapper<ServiceError>> response = advice.defaultServiceErrorHandler(request,
+				new ConversionRejectedException(2));
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+		assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+		assertEquals(ConverterErrorCode.CONVERSION_CAPACITY_EXCEEDED_EXCEPTION.getErrorCode(),
+				response.getBody().getErrors().get(0).getErrorCode());
+	}
+
 	@Test
 	void testConversionExceptionAdviceSetErrors_withValidJsonContent() throws Exception {
-		// Mock the HttpServletRequest and ObjectMapper
 		HttpServletRequest request = mock(ContentCachingRequestWrapper.class);
 		when(((ContentCachingRequestWrapper) request).getContentAsByteArray())
 				.thenReturn("{\"id\":\"123\", \"version\":\"1.0\"}".getBytes());
 
-		JsonNode mockNode = new ObjectMapper().readTree("{\"id\":\"123\", \"version\":\"1.0\"}");
-		when(objectMapper.readTree(any(String.class))).thenReturn(mockNode);
+		ResponseWrapper<ServiceError> result = advice.setErrors(request);
+
+		assertEquals("123", result.getId());
+		assertEquals("1.0", result.getVersion());
+	}
+
+	@Test
+	void testConversionExceptionAdviceSetErrors_withFieldsAfterRequest() throws Exception {
+		HttpServletRequest request = mock(ContentCachingRequestWrapper.class);
+		when(((ContentCachingRequestWrapper) request).getContentAsByteArray()).thenReturn(
+				"{\"request\":{\"values\":{\"Face\":\"AAAA\"}},\"id\":\"123\",\"version\":\"1.0\",\"tail\":[}"
+						.getBytes());
 
 		ResponseWrapper<ServiceError> result = advice.setErrors(request);
 
@@ -91,6 +114,34 @@ class ExceptionTest {
 		assertEquals("1.0", result.getVersion());
 	}
 
+	@Test
+	void testConversionExceptionAdviceSetErrors_withCachedRequestBody() throws Exception {
+		MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+		servletRequest.setContentType("application/json");
+		servletRequest.setContent("{\"request\":{\"values\":{\"Face\":\"AAAA\"}},\"id\":\"123\",\"version\":\"1.0\"}"
+				.getBytes(StandardCharsets.UTF_8));
+		ContentCachingRequestWrapper request = new ContentCachingRequestWrapper(servletRequest);
+		request.getInputStream().readAllBytes();
+
+		ResponseWrapper<ServiceError> result = advice.setErrors(request);
+
+		assertEquals("123", result.getId());
+		assertEquals("1.0", result.getVersion());
+	}
+
+	@Test
+	void testConversionExceptionAdviceSetErrors_withCapturedRequestIdentity() throws Exception {
+		HttpServletRequest request = mock(ContentCachingRequestWrapper.class);
+		when(request.getAttribute(RequestIdentityAdvice.REQUEST_IDENTITY_ATTRIBUTE))
+				.thenReturn(new RequestIdentity("123", "1.0"));
+
+		ResponseWrapper<ServiceError> result = advice.setErrors(request);
+
+		assertEquals("123", result.getId());
+		assertEquals("1.0", result.getVersion());
+		verify((ContentCachingRequestWrapper) request, never()).getContentAsByteArray();
+	}
+
 	@Test
 	void testConversionExceptionAdviceSetErrors_withEmptyRequestBody() throws Exception {
 		HttpServletRequest request = mock(ContentCachingRequestWrapper.class);
@@ -107,10 +158,10 @@ class ExceptionTest {
 		HttpServletRequest request = mock(ContentCachingRequestWrapper.class);
 		when(((ContentCachingRequestWrapper) request).getContentAsByteArray()).thenReturn("{invalidJson}".getBytes());
 
-		 // Mocking ObjectMapper to throw JsonProcessingException on invalid JSON
-	    when(objectMapper.readTree(any(String.class))).thenThrow(new JsonProcessingException("Invalid JSON") {});
+		// The error response is still built when the request body is not valid JSON
+		ResponseWrapper<ServiceError> result = advice.setErrors(request);
 
-	    // Verifying if IOException is thrown when invalid JSON is processed
-	    assertThrows(Exception.class, () -> advice.setErrors(request));
+		assertEquals("", result.getId());
+		assertEquals("", result.getVersion());
 	}
-}
\ No newline at end of file
+}
@@ -1,13 +1,22 @@
 package io.mosip.kernel.bio.converter.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.Before;
@@ -19,20 +28,32 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jayway.jsonpath.JsonPath;
 
+import io.mosip.biometrics.util.CommonUtil;
 import io.mosip.kernel.bio.converter.TestBootApplication;
 import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
 import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
+import io.mosip.kernel.bio.converter.dto.BatchConvertRequestDto;
 import io.mosip.kernel.bio.converter.dto.ConvertRequestDto;
+import io.mosip.kernel.bio.converter.dto.DecodedConvertRequestDto;
+import io.mosip.kernel.bio.converter.dto.SourceValue;
 import io.mosip.kernel.bio.converter.exception.ConversionException;
+import io.mosip.kernel.bio.converter.service.impl.ConverterServiceImpl;
+import io.mosip.kernel.bio.converter.service.impl.IsoRecordLayout;
 import io.mosip.kernel.bio.converter.util.ConverterDataUtil;
 import io.mosip.kernel.core.http.RequestWrapper;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
 
 /**
  * Convert Handler Controller Test
@@ -577,4 +598,260 @@ public class ConvertControllerTest {
 	            .andExpect(result -> assertTrue(result.getResolvedException() instanceof ConversionException))
 	            .andExpect(jsonPath("$.errors[0].errorCode").value("MOS-CNV-003"));
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Integration test for converting raw ISO19794_4_2011 bytes to JPEG image bytes
+	 * through the application/octet-stream binary endpoint.
+	 *
+	 * @throws Exception if an error occurs during execution
+	 */
+	@Test
+	@WithMockUser("reg-officer")
+	public void t015ConvertBinaryTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/finger_wsq.txt");
+		byte[] bioData = CommonUtil.decodeURLSafeBase64(IOUtils.toString(fis, StandardCharsets.UTF_8));
+
+		MvcResult result = mockMvc.perform(post("/convert/binary").param("sourceFormat", "ISO19794_4_2011")
+				.param("targetFormat", "IMAGE/JPEG").contentType(MediaType.APPLICATION_OCTET_STREAM).content(bioData))
+				.andExpect(status().isOk()).andReturn();
+
+		assertTrue(ConverterDataUtil.isJPEG(result.getResponse().getContentAsByteArray()));
+	}
+
+	/**
+	 * Integration test for converting raw ISO19794_4_2011 bytes to PNG image bytes
+	 * through the multipart/form-data binary endpoint.
+	 *
+	 * @throws Exception if an error occurs during execution
+	 */
+	@Test
+	@WithMockUser("reg-officer")
+	public void t016ConvertMultipartTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/finger_wsq.txt");
+		byte[] bioData = CommonUtil.decodeURLSafeBase64(IOUtils.toString(fis, StandardCharsets.UTF_8));
+
+		MvcResult result = mockMvc
+				.perform(multipart("/convert/binary")
+						.file(new MockMultipartFile("Left Thumb", "Left Thumb", MediaType.APPLICATION_OCTET_STREAM_VALUE, bioData))
+						.param("sourceFormat", "ISO19794_4_2011").param("targetFormat", "IMAGE/PNG"))
+				.andExpect(status().isOk()).andReturn();
+
+		assertTrue(result.getResponse().getContentType().startsWith(MediaType.MULTIPART_FORM_DATA_VALUE));
+		assertTrue(result.getResponse().getContentAsString(StandardCharsets.ISO_8859_1).contains("name=\"Left Thumb\""));
+	}
+
+	/**
+	 * Integration test for a batch conversion with one valid and one invalid
+	 * item, the invalid item must not fail the batch.
+	 *
+	 * @throws Exception if an error occurs during execution
+	 */
+	@Test
+	@WithMockUser("reg-officer")
+	public void t017ConvertBatchTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/iris.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+
+		BatchConvertRequestDto batchRequest = new BatchConvertRequestDto();
+		batchRequest.setItems(List.of(
+				new ConvertRequestDto(Map.of("Left Iris", bioData), "ISO19794_6_2011", "IMAGE/JPEG", Map.of(), Map.of()),
+				new ConvertRequestDto(Map.of("Left Thumb", "values"), "INVALID_FORMAT", "IMAGE/JPEG", Map.of(), Map.of())));
+		RequestWrapper<BatchConvertRequestDto> batchRequestDto = new RequestWrapper<>();
+		batchRequestDto.setId("sample-converter");
+		batchRequestDto.setVersion("1.0");
+		batchRequestDto.setRequest(batchRequest);
+
+		mockMvc.perform(post("/convert/batch").contentType(MediaType.APPLICATION_JSON)
+				.content(mapper.writeValueAsString(batchRequestDto))).andExpect(status().isOk())
+				.andExpect(jsonPath("$.response[0].values['Left Iris']").isNotEmpty())
+				.andExpect(jsonPath("$.response[0].errors").isEmpty())
+				.andExpect(jsonPath("$.response[1].errors[0].errorCode").value("MOS-CNV-003"));
+	}
+
+	/**
+	 * Integration test for a partial failure conversion, the valid value is
+	 * returned and the invalid ones, including a value that is not Base64 URL
+	 * encoded, are reported against their keys.
+	 *
+	 * @throws Exception if an error occurs during execution
+	 */
+	@Test
+	@WithMockUser("reg-officer")
+	public void t018ConvertPartialFailureTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/finger_wsq.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+
+		convertRequestDto.setRequest(new ConvertRequestDto(Map.of("Left Thumb", bioData, "Right Thumb", "aGVsbG8gaG93IGFyZSB5b3U",
+				"Left Index", "validData"), "ISO19794_4_2011", "IMAGE/JPEG", Map.of(), Map.of()));
+
+		mockMvc.perform(post("/convert").param("partialFailure", "true").contentType(MediaType.APPLICATION_JSON)
+				.content(mapper.writeValueAsString(convertRequestDto))).andExpect(status().isOk())
+				.andExpect(jsonPath("$.response['Left Thumb']").isNotEmpty())
+				.andExpect(jsonPath("$.errors[0].key").value("Left Index"))
+				.andExpect(jsonPath("$.errors[0].errorCode").value("MOS-CNV-006"))
+				.andExpect(jsonPath("$.errors[1].key").value("Right Thumb"))
+				.andExpect(jsonPath("$.errors[1].errorCode").value("MOS-CNV-008"));
+	}
+
+	/**
+	 * Integration test for a streamed conversion, the converted value is written
+	 * to the response and a failing value is reported against its key.
+	 *
+	 * @throws Exception if an error occurs during execution
+	 */
+	@Test
+	@WithMockUser("reg-officer")
+	public void t019ConvertStreamTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/finger_wsq.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+
+		convertRequestDto.setRequest(new ConvertRequestDto(Map.of("Left Thumb", bioData, "Right Thumb", "aGVsbG8gaG93IGFyZSB5b3U"),
+				"ISO19794_4_2011", "IMAGE/JPEG", Map.of(), Map.of()));
+
+		MvcResult result = mockMvc.perform(post("/convert/stream").param("partialFailure", "true").contentType(MediaType.APPLICATION_JSON)
+				.content(mapper.writeValueAsString(convertRequestDto))).andExpect(status().isOk())
+				.andExpect(jsonPath("$.id").value("sample-converter"))
+				.andExpect(jsonPath("$.errors[0].key").value("Right Thumb"))
+				.andExpect(jsonPath("$.errors[0].errorCode").value("MOS-CNV-008")).andReturn();
+
+		String value = JsonPath.read(result.getResponse().getContentAsString(), "$.response['Left Thumb']");
+		assertTrue(ConverterDataUtil.isJPEG(CommonUtil.decodeURLSafeBase64(value)));
+	}
+
+	/**
+	 * Integration test for a streamed conversion failing before any value is
+	 * written, the regular error response is returned.
+	 *
+	 * @throws Exception if an error occurs during execution
+	 */
+	@Test
+	@WithMockUser("reg-officer")
+	public void t020ConvertStreamInvalidSourceTest() throws Exception {
+		convertRequestDto.setRequest(new ConvertRequestDto(Map.of("Left Thumb", "aGVsbG8gaG93IGFyZSB5b3U"),
+				"ISO19794_4_2011", "IMAGE/JPEG", Map.of(), Map.of()));
+
+		ConverterDataUtil.checkResponse(mockMvc.perform(post("/convert/stream").contentType(MediaType.APPLICATION_JSON)
+				.content(mapper.writeValueAsString(convertRequestDto))).andReturn(), 500, null, "MOS-CNV-008");
+	}
+
+	/**
+	 * Integration test for an asynchronous conversion, the response is written
+	 * once the values are converted on the conversion pool.
+	 *
+	 * @throws Exception if an error occurs during execution
+	 */
+	@Test
+	@WithMockUser("reg-officer")
+	public void t021ConvertAsyncTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/finger_wsq.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+
+		convertRequestDto.setRequest(new ConvertRequestDto(Map.of("Left Thumb", bioData, "Right Thumb", bioData),
+				"ISO19794_4_2011", "IMAGE/PNG", Map.of(), Map.of()));
+
+		MvcResult result = mockMvc.perform(post("/convert/async").contentType(MediaType.APPLICATION_JSON)
+				.content(mapper.writeValueAsString(convertRequestDto))).andExpect(request().asyncStarted()).andReturn();
+
+		ConverterDataUtil.checkResponse(mockMvc.perform(asyncDispatch(result)).andReturn(), 200, null,
+				TargetFormatCode.IMAGE_PNG.getCode());
+	}
+
+	/**
+	 * Integration test for an asynchronous conversion failing on an invalid
+	 * source value, the regular error response is returned.
+	 *
+	 * @throws Exception if an error occurs during execution
+	 */
+	@Test
+	@WithMockUser("reg-officer")
+	public void t022ConvertAsyncInvalidSourceTest() throws Exception {
+		convertRequestDto.setRequest(new ConvertRequestDto(Map.of("Left Thumb", "aGVsbG8gaG93IGFyZSB5b3U"),
+				"ISO19794_4_2011", "IMAGE/JPEG", Map.of(), Map.of()));
+
+		MvcResult result = mockMvc.perform(post("/convert/async").contentType(MediaType.APPLICATION_JSON)
+				.content(mapper.writeValueAsString(convertRequestDto))).andExpect(request().asyncStarted()).andReturn();
+
+		ConverterDataUtil.checkResponse(mockMvc.perform(asyncDispatch(result)).andReturn(), 500, null, "MOS-CNV-008");
+	}
+
+	/**
+	 * Test for a streamed conversion whose client has gone away, the remaining
+	 * values are not converted and no error response is attempted.
+	 *
+	 * @throws Exception if an error occurs during execution
+	 */
+	@Test
+	public void t023ConvertStreamClientGoneTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/finger_wsq.txt");
+		SourceValue bioData = SourceValue.ofEncoded(IOUtils.toString(fis, StandardCharsets.UTF_8));
+		DecodedConvertRequestDto request = new DecodedConvertRequestDto();
+		request.setValues(Map.of("Left Thumb", bioData, "Right Thumb", bioData, "Left Index", bioData));
+		request.setSourceFormat("ISO19794_4_2011");
+		request.setTargetFormat("IMAGE/JPEG");
+		RequestWrapper<DecodedConvertRequestDto> requestDto = new RequestWrapper<>();
+		requestDto.setRequest(request);
+
+		AtomicInteger writes = new AtomicInteger();
+		MockHttpServletResponse response = new MockHttpServletResponse() {
+			@Override
+			public ServletOutputStream getOutputStream() {
+				return new ServletOutputStream() {
+					@Override
+					public void write(int b) throws IOException {
+						writes.incrementAndGet();
+						throw new IOException("Broken pipe");
+					}
+
+					@Override
+					public void write(byte[] b, int off, int len) throws IOException {
+						write(b[off]);
+					}
+
+					@Override
+					public boolean isReady() {
+						return true;
+					}
+
+					@Override
+					public void setWriteListener(WriteListener writeListener) {
+					}
+				};
+			}
+		};
+
+		new ConvertController(new ConverterServiceImpl(), mapper).convertStream(requestDto, false, response);
+
+		assertEquals(1, writes.get());
+	}
+
+	/**
+	 * Integration test for converting a record of two representations through
+	 * the application/octet-stream binary endpoint with the representations=all
+	 * target parameter, one part is returned per representation.
+	 *
+	 * @throws Exception if an error occurs during execution
+	 */
+	@Test
+	@WithMockUser("reg-officer")
+	public void t024ConvertBinaryAllRepresentationsTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/finger_wsq.txt");
+		byte[] isoData = CommonUtil.decodeURLSafeBase64(IOUtils.toString(fis, StandardCharsets.UTF_8));
+		IsoRecordLayout.Representation source = IsoRecordLayout.parse(SourceFormatCode.ISO19794_4_2011, isoData)
+				.getRepresentations().get(0);
+		// second finger, a copy of the first one at finger position 8
+		byte[] twoFingers = Arrays.copyOf(isoData, isoData.length + source.getLength());
+		System.arraycopy(isoData, source.getOffset(), twoFingers, isoData.length, source.getLength());
+		twoFingers[isoData.length + source.getImageTypeOffset() - 12 - source.getOffset()] = 8;
+		ByteBuffer.wrap(twoFingers).putInt(8, twoFingers.length).putShort(12, (short) 2);
+
+		MvcResult result = mockMvc.perform(post("/convert/binary").param("sourceFormat", "ISO19794_4_2011")
+				.param("targetFormat", "IMAGE/PNG").param("representations", "all")
+				.contentType(MediaType.APPLICATION_OCTET_STREAM).content(twoFingers)).andExpect(status().isOk())
+				.andReturn();
+
+		String body = result.getResponse().getContentAsString(StandardCharsets.ISO_8859_1);
+		assertTrue(result.getResponse().getContentType().startsWith(MediaType.MULTIPART_FORM_DATA_VALUE));
+		assertTrue(body.contains("name=\"value_7\""));
+		assertTrue(body.contains("name=\"value_8\""));
+	}
+}